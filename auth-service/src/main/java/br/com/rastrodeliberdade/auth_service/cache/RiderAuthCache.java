@@ -0,0 +1,103 @@
+package br.com.rastrodeliberdade.auth_service.cache;
+
+import br.com.rastrodeliberdade.auth_service.dto.RiderAuthDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class RiderAuthCache {
+
+    public static final String CACHE_NAME = "rider-auth";
+
+    private final boolean enabled;
+    private final Cache<String, Optional<RiderAuthDto>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public RiderAuthCache(@Value("${rider.auth.cache.enabled}") boolean enabled,
+                          @Value("${rider.auth.cache.maximum-size}") long maximumSize,
+                          @Value("${rider.auth.cache.ttl}") Duration ttl,
+                          @Value("${rider.auth.cache.negative-ttl}") Duration negativeTtl,
+                          MeterRegistry meterRegistry) {
+        this(enabled, maximumSize, ttl, negativeTtl, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    RiderAuthCache(boolean enabled, long maximumSize, Duration ttl, Duration negativeTtl, Ticker ticker) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PositiveNegativeExpiry(ttl, negativeTtl))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<RiderAuthDto> get(String email, Function<String, Optional<RiderAuthDto>> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+
+        Optional<RiderAuthDto> cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Loads on the calling thread rather than inside Caffeine's compute lock, so a blocking HTTP call
+        // never pins a carrier thread under virtual threads. Results loaded while an invalidation happened
+        // are returned but not cached, so they cannot resurrect a stale entry.
+        long invalidationsBeforeLoad = invalidations.get();
+        Optional<RiderAuthDto> rider = loader.apply(email);
+        if (invalidations.get() == invalidationsBeforeLoad) {
+            cache.put(email, rider);
+        }
+        return rider;
+    }
+
+    public void invalidate(Collection<String> emails) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(emails);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private record PositiveNegativeExpiry(Duration ttl, Duration negativeTtl)
+            implements Expiry<String, Optional<RiderAuthDto>> {
+
+        @Override
+        public long expireAfterCreate(String email, Optional<RiderAuthDto> rider, long currentTime) {
+            return rider.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String email, Optional<RiderAuthDto> rider, long currentTime, long currentDuration) {
+            return expireAfterCreate(email, rider, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String email, Optional<RiderAuthDto> rider, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
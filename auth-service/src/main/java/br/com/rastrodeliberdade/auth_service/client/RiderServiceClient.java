@@ -1,35 +1,149 @@
 package br.com.rastrodeliberdade.auth_service.client;
 
+import br.com.rastrodeliberdade.auth_service.cache.RiderAuthCache;
 import br.com.rastrodeliberdade.auth_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.auth_service.dto.RiderPasswordRehashDto;
+import br.com.rastrodeliberdade.auth_service.jfr.LoginEvent;
+import br.com.rastrodeliberdade.auth_service.jfr.RiderLookupEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class RiderServiceClient {
     private final RestTemplate restTemplate;
     private final String riderServiceBaseUrl;
+    private final RiderAuthCache riderAuthCache;
+    private final ConcurrentMap<String, CompletableFuture<Optional<RiderAuthDto>>> inFlightLookups = new ConcurrentHashMap<>();
+    private final Timer foundTimer;
+    private final Timer notFoundTimer;
+    private final Timer errorTimer;
+    private final Tracer tracer;
 
-    public RiderServiceClient(RestTemplate restTemplate, @Value("${rider.service.url}") String riderServiceBaseUrl) {
+    public RiderServiceClient(RestTemplate restTemplate, @Value("${rider.service.url}") String riderServiceBaseUrl,
+                              RiderAuthCache riderAuthCache, MeterRegistry meterRegistry, Tracer tracer) {
         this.restTemplate = restTemplate;
+        this.tracer = tracer;
         this.riderServiceBaseUrl = riderServiceBaseUrl;
+        this.riderAuthCache = riderAuthCache;
+        this.foundTimer = lookupTimer(meterRegistry, "found");
+        this.notFoundTimer = lookupTimer(meterRegistry, "not-found");
+        this.errorTimer = lookupTimer(meterRegistry, "error");
     }
 
+    // Times the lookup as the login sees it, cache hits included; the HTTP hop alone is in http.client.requests.
     public Optional<RiderAuthDto> findByEmail(String email) {
-        String url = UriComponentsBuilder.fromHttpUrl(riderServiceBaseUrl)
+        long startedAt = System.nanoTime();
+        Span span = tracer.nextSpan().name("rider.lookup").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            Optional<RiderAuthDto> rider = riderAuthCache.get(email.toLowerCase(Locale.ROOT), this::fetchByEmailCoalesced);
+            (rider.isPresent() ? foundTimer : notFoundTimer).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            span.tag("outcome", rider.isPresent() ? "found" : "not-found");
+            return rider;
+        } catch (RuntimeException e) {
+            errorTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+            LoginEvent.recordLookup(System.nanoTime() - startedAt);
+        }
+    }
+
+    public boolean updatePasswordHash(String email, String currentPasswordHash, String newPasswordHash) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(riderServiceBaseUrl)
+                .path("/rider/internal/password-hash")
+                .build(true)
+                .toUri();
+
+        try {
+            restTemplate.put(uri, new RiderPasswordRehashDto(email, currentPasswordHash, newPasswordHash));
+            return true;
+        } catch (HttpClientErrorException.Conflict e) {
+            return false;
+        } finally {
+            riderAuthCache.invalidate(List.of(email));
+        }
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("rider.lookup.duration")
+                .description("Time to resolve a rider by e-mail for authentication")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Optional<RiderAuthDto> fetchByEmailCoalesced(String email) {
+        CompletableFuture<Optional<RiderAuthDto>> lookup = new CompletableFuture<>();
+        CompletableFuture<Optional<RiderAuthDto>> inFlightLookup = inFlightLookups.putIfAbsent(email, lookup);
+        if (inFlightLookup != null) {
+            return awaitInFlightLookup(inFlightLookup);
+        }
+
+        try {
+            Optional<RiderAuthDto> rider = fetchByEmail(email);
+            lookup.complete(rider);
+            return rider;
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLookups.remove(email, lookup);
+        }
+    }
+
+    private Optional<RiderAuthDto> awaitInFlightLookup(CompletableFuture<Optional<RiderAuthDto>> inFlightLookup) {
+        try {
+            return inFlightLookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<RiderAuthDto> fetchByEmail(String email) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(riderServiceBaseUrl)
                 .path("/rider/internal/by-email")
-                .queryParam("email", email)
-                .toUriString();
+                .queryParam("email", UriUtils.encode(email, StandardCharsets.UTF_8))
+                .build(true)
+                .toUri();
 
+        RiderLookupEvent lookupEvent = RiderLookupEvent.start(riderServiceBaseUrl + "/rider/internal/by-email");
         try {
-            RiderAuthDto rider = restTemplate.getForObject(url, RiderAuthDto.class);
-            return Optional.ofNullable(rider);
+            ResponseEntity<RiderAuthDto> response = restTemplate.getForEntity(uri, RiderAuthDto.class);
+            lookupEvent.finish(response.getStatusCode().value());
+            return Optional.ofNullable(response.getBody());
         } catch (HttpClientErrorException.NotFound e) {
+            lookupEvent.finish(e.getStatusCode().value());
             return Optional.empty();
+        } catch (HttpStatusCodeException e) {
+            lookupEvent.finish(e.getStatusCode().value());
+            throw e;
+        } catch (RuntimeException e) {
+            lookupEvent.finish(RiderLookupEvent.NO_RESPONSE);
+            throw e;
         }
     }
 
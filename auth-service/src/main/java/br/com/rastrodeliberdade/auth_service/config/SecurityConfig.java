@@ -1,45 +1,98 @@
 package br.com.rastrodeliberdade.auth_service.config;
 
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import br.com.rastrodeliberdade.auth_service.security.LoginTimingPasswordEncoder;
+import br.com.rastrodeliberdade.auth_token_verifier.CachingTokenVerifier;
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceAuthenticationFilter;
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import br.com.rastrodeliberdade.auth_token_verifier.JwtTokenVerifier;
+import br.com.rastrodeliberdade.service_commons.security.BoundedPasswordEncoder;
+import br.com.rastrodeliberdade.service_commons.security.PasswordEncoders;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+
+import java.time.Clock;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    // rider-service calls /internal/** with the shared internal service token; rider tokens do not count there.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain internalSecurityFilterChain(HttpSecurity http,
+                                                           InternalServiceToken internalServiceToken) throws Exception {
+        AuthenticationEntryPoint authenticationEntryPoint = new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED);
+
+        return http
+                .securityMatcher("/internal/**")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().hasAuthority(InternalServiceToken.AUTHORITY))
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(authenticationEntryPoint))
+                .addFilterBefore(new InternalServiceAuthenticationFilter(internalServiceToken, authenticationEntryPoint),
+                        AnonymousAuthenticationFilter.class)
+                .build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
-                        .requestMatchers("/login").permitAll()
+                        .requestMatchers("/login", "/login/refresh", "/token/validate", "/.well-known/jwks.json").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/metrics/**", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
                 .build();
     }
 
+    @Bean
+    public InternalServiceToken internalServiceToken(@Value("${internal.service.token}") String token) {
+        return new InternalServiceToken(token);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${password.hashing.threads}") int threads,
+                                                 @Value("${password.hashing.queue-capacity}") int queueCapacity,
+                                                 @Value("${password.hashing.algorithm}") String algorithm,
+                                                 @Value("${password.hashing.bcrypt.strength}") int bcryptStrength,
+                                                 @Value("${password.hashing.argon2.memory}") int argon2Memory,
+                                                 @Value("${password.hashing.argon2.iterations}") int argon2Iterations,
+                                                 @Value("${password.hashing.argon2.parallelism}") int argon2Parallelism,
+                                                 ObjectProvider<Tracer> tracer) {
+        int hashingThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        PasswordEncoder delegate = PasswordEncoders.delegating(
+                algorithm, bcryptStrength, argon2Memory, argon2Iterations, argon2Parallelism);
+        return new LoginTimingPasswordEncoder(delegate, hashingThreads, queueCapacity,
+                tracer.getIfAvailable(() -> Tracer.NOOP));
     }
 
     @Bean
-    public RestTemplate restTemplate(){
-        return new RestTemplate();
+    public CachingTokenVerifier tokenVerifier(JwtSigningKeyProvider signingKeyProvider,
+                                              @Value("${jwt.verifier.cache.maximum-size}") long maximumSize) {
+        Clock clock = Clock.systemUTC();
+        JwtTokenVerifier jwtTokenVerifier = new JwtTokenVerifier(signingKeyProvider::verificationKey, clock);
+        return new CachingTokenVerifier(jwtTokenVerifier, maximumSize, clock);
     }
 }
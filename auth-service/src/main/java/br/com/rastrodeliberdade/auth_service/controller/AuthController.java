@@ -2,7 +2,11 @@ package br.com.rastrodeliberdade.auth_service.controller;
 
 import br.com.rastrodeliberdade.auth_service.dto.LoginRequestDto;
 import br.com.rastrodeliberdade.auth_service.dto.LoginResponseDto;
+import br.com.rastrodeliberdade.auth_service.dto.RefreshTokenRequestDto;
+import br.com.rastrodeliberdade.auth_service.jfr.LoginEvent;
+import br.com.rastrodeliberdade.auth_service.security.RefreshTokenStore;
 import br.com.rastrodeliberdade.auth_service.service.TokenService;
+import br.com.rastrodeliberdade.service_commons.security.PasswordHashingUnavailableException;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,6 +30,9 @@ public class AuthController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
     @Operation(summary = "Authenticate a user",
             description = "Endpoint to authenticate a user with email and password, returning a JWT if successful.")
     @PostMapping
@@ -33,11 +41,38 @@ public class AuthController {
                 loginRequestDto.email(),
                 loginRequestDto.password());
 
-        Authentication auth = authenticationManager.authenticate(usernamePassword);
+        LoginEvent loginEvent = LoginEvent.start();
+        String outcome = "error";
+        try {
+            Authentication auth = authenticationManager.authenticate(usernamePassword);
 
-        String token = tokenService.generateToken(auth);
+            long signStartedAt = System.nanoTime();
+            String token = tokenService.generateToken(auth);
+            loginEvent.recordSign(System.nanoTime() - signStartedAt);
+
+            ResponseEntity<LoginResponseDto> response = ResponseEntity.ok(new LoginResponseDto(token,
+                    refreshTokenStore.issue(auth.getName()), tokenService.expirationSeconds()));
+            outcome = "success";
+            return response;
+        } catch (AuthenticationException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (PasswordHashingUnavailableException e) {
+            outcome = "unavailable";
+            throw e;
+        } finally {
+            loginEvent.finish(outcome);
+        }
+    }
 
+    @Operation(summary = "Refresh an access token",
+            description = "Endpoint to exchange a refresh token for a new JWT and a new refresh token, without " +
+                    "checking the password again. Each refresh token can be used only once.")
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDto> refresh(@Valid @RequestBody RefreshTokenRequestDto refreshTokenRequestDto) {
+        String subject = refreshTokenStore.consume(refreshTokenRequestDto.refreshToken());
 
-        return ResponseEntity.ok(new LoginResponseDto(token));
+        return ResponseEntity.ok(new LoginResponseDto(tokenService.generateToken(subject),
+                refreshTokenStore.issue(subject), tokenService.expirationSeconds()));
     }
 }
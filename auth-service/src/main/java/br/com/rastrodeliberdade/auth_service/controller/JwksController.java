@@ -0,0 +1,26 @@
+package br.com.rastrodeliberdade.auth_service.controller;
+
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtSigningKeyProvider signingKeyProvider;
+
+    @Operation(summary = "Public signing keys",
+            description = "JSON Web Key Set with the current and previous public keys used to sign tokens (RS256/ES256). " +
+                    "Empty when tokens are signed with HS512.")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok(Map.of("keys", signingKeyProvider.publicJwks()));
+    }
+}
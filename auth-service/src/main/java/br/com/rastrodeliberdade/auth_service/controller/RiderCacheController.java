@@ -0,0 +1,37 @@
+package br.com.rastrodeliberdade.auth_service.controller;
+
+import br.com.rastrodeliberdade.auth_service.cache.RiderAuthCache;
+import br.com.rastrodeliberdade.auth_service.security.RefreshTokenStore;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/internal/cache/riders")
+public class RiderCacheController {
+
+    @Autowired
+    private RiderAuthCache riderAuthCache;
+
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    @Operation(summary = "Evict cached Rider auth data",
+            description = "INTERNAL USE ONLY - Called by the rider-service when a Rider email or password changes. " +
+                    "Also revokes the refresh tokens issued to those emails.",
+            hidden = true)
+    @DeleteMapping
+    public ResponseEntity<Void> evict(@RequestParam(name = "email") List<String> emails) {
+        riderAuthCache.invalidate(emails);
+        refreshTokenStore.revoke(emails);
+
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+}
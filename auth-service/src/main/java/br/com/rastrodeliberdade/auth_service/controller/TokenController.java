@@ -0,0 +1,42 @@
+package br.com.rastrodeliberdade.auth_service.controller;
+
+import br.com.rastrodeliberdade.auth_service.dto.TokenValidationResponseDto;
+import br.com.rastrodeliberdade.auth_token_verifier.InvalidTokenException;
+import br.com.rastrodeliberdade.auth_token_verifier.TokenVerifier;
+import br.com.rastrodeliberdade.auth_token_verifier.VerifiedToken;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/token")
+public class TokenController {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private TokenVerifier tokenVerifier;
+
+    @Operation(summary = "Validate a token",
+            description = "Endpoint to validate a Bearer token issued by /login, returning its subject and expiration. " +
+                    "Services that can depend on auth-token-verifier should verify tokens locally instead.")
+    @GetMapping("/validate")
+    public ResponseEntity<TokenValidationResponseDto> validate(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            throw new InvalidTokenException("Bearer token ausente");
+        }
+
+        VerifiedToken verifiedToken = tokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+
+        return ResponseEntity.ok(new TokenValidationResponseDto(
+                verifiedToken.subject(),
+                verifiedToken.issuedAt(),
+                verifiedToken.expiresAt()));
+    }
+}
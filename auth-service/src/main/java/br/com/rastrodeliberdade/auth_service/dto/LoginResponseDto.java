@@ -1,6 +1,8 @@
 package br.com.rastrodeliberdade.auth_service.dto;
 
 public record LoginResponseDto(
-        String token
+        String token,
+        String refreshToken,
+        long expiresIn
 ) {
 }
@@ -0,0 +1,9 @@
+package br.com.rastrodeliberdade.auth_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDto(
+        @NotBlank(message = "Refresh token is required")
+        String refreshToken) {
+
+}
@@ -0,0 +1,8 @@
+package br.com.rastrodeliberdade.auth_service.dto;
+
+public record RiderPasswordRehashDto(
+        String email,
+        String currentPasswordHash,
+        String newPasswordHash
+) {
+}
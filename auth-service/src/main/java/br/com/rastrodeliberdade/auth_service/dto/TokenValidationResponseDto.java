@@ -0,0 +1,10 @@
+package br.com.rastrodeliberdade.auth_service.dto;
+
+import java.time.Instant;
+
+public record TokenValidationResponseDto(
+        String subject,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
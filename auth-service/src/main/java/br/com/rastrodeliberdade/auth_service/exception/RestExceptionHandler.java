@@ -0,0 +1,44 @@
+package br.com.rastrodeliberdade.auth_service.exception;
+
+import br.com.rastrodeliberdade.auth_token_verifier.InvalidTokenException;
+import br.com.rastrodeliberdade.service_commons.security.PasswordHashingUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Instant;
+
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<StandardError> passwordHashingUnavailable(PasswordHashingUnavailableException e, HttpServletRequest request){
+        String error = "Serviço temporariamente indisponível";
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        StandardError err = new StandardError(
+                Instant.now(),
+                status.value(),
+                error,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(err);
+    }
+
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<StandardError> invalidToken(InvalidTokenException e, HttpServletRequest request){
+        String error = "Token inválido";
+        HttpStatus status = HttpStatus.UNAUTHORIZED;
+        StandardError err = new StandardError(
+                Instant.now(),
+                status.value(),
+                error,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).header(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"").body(err);
+    }
+}
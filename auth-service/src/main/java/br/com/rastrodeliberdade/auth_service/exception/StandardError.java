@@ -0,0 +1,21 @@
+package br.com.rastrodeliberdade.auth_service.exception;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StandardError implements Serializable {
+    private static  final long serialVersionUID = 1L;
+
+    private Instant timestamp;
+    private Integer status;
+    private String error;
+    private String message;
+    private String path;
+}
@@ -0,0 +1,71 @@
+package br.com.rastrodeliberdade.auth_service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// The rider lookup and the password check run inside Spring Security's AuthenticationManager, so they add their
+// time to the login in progress on the calling thread instead of being passed the event.
+@Name("br.com.rastrodeliberdade.auth.Login")
+@Label("Login")
+@Description("A POST /login, split into rider lookup, password verification and token signing")
+@Category({"Rastro de Liberdade", "auth-service"})
+@StackTrace(false)
+public class LoginEvent extends Event {
+
+    private static final ThreadLocal<LoginEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("Lookup Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long lookupDuration;
+
+    @Label("Verify Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long verifyDuration;
+
+    @Label("Sign Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long signDuration;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static LoginEvent start() {
+        LoginEvent event = new LoginEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            CURRENT.set(event);
+        }
+        return event;
+    }
+
+    public static void recordLookup(long nanos) {
+        LoginEvent event = CURRENT.get();
+        if (event != null) {
+            event.lookupDuration += nanos;
+        }
+    }
+
+    public static void recordVerify(long nanos) {
+        LoginEvent event = CURRENT.get();
+        if (event != null) {
+            event.verifyDuration += nanos;
+        }
+    }
+
+    public void recordSign(long nanos) {
+        signDuration += nanos;
+    }
+
+    public void finish(String outcome) {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
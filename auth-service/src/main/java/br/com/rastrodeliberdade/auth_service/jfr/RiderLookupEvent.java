@@ -0,0 +1,37 @@
+package br.com.rastrodeliberdade.auth_service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.rastrodeliberdade.auth.RiderLookup")
+@Label("Rider Lookup")
+@Description("An HTTP call to rider-service to find a rider by e-mail; cache hits do not call it. The URL leaves out the e-mail")
+@Category({"Rastro de Liberdade", "auth-service"})
+@StackTrace(false)
+public class RiderLookupEvent extends Event {
+
+    public static final int NO_RESPONSE = -1;
+
+    @Label("URL")
+    String url;
+
+    @Label("Status")
+    @Description("HTTP status of the response, or -1 when no response arrived")
+    int status = NO_RESPONSE;
+
+    public static RiderLookupEvent start(String url) {
+        RiderLookupEvent event = new RiderLookupEvent();
+        event.url = url;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int status) {
+        this.status = status;
+        commit();
+    }
+}
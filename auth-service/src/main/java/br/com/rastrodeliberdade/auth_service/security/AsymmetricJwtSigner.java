@@ -0,0 +1,135 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import br.com.rastrodeliberdade.auth_token_verifier.Jwks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Collections;
+import java.util.Map;
+
+public final class AsymmetricJwtSigner implements JwtSigner {
+    private static final int MINIMUM_RSA_KEY_SIZE = 2048;
+
+    private final String algorithm;
+    private final String signatureAlgorithm;
+    private final String keyId;
+    private final String encodedHeader;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+
+    private AsymmetricJwtSigner(String algorithm, KeyPair keyPair) {
+        this.algorithm = algorithm;
+        this.signatureAlgorithm = signatureAlgorithm(algorithm);
+        this.privateKey = keyPair.getPrivate();
+        this.publicKey = checkKey(algorithm, keyPair.getPublic());
+        this.keyId = Jwks.thumbprint(publicKey);
+        this.encodedHeader = JwtEncoding.header(algorithm, keyId);
+    }
+
+    public static AsymmetricJwtSigner fromKeyPair(String algorithm, KeyPair keyPair) {
+        return new AsymmetricJwtSigner(algorithm, keyPair);
+    }
+
+    public static AsymmetricJwtSigner generate(String algorithm) {
+        try {
+            KeyPairGenerator generator;
+            if (Jwks.ES256.equals(algorithm)) {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(MINIMUM_RSA_KEY_SIZE);
+            }
+            return new AsymmetricJwtSigner(algorithm, generator.generateKeyPair());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate a " + algorithm + " key pair", e);
+        }
+    }
+
+    public static AsymmetricJwtSigner fromKeyStore(String algorithm, Path keyStoreFile, String password) {
+        char[] passwordChars = password == null ? new char[0] : password.toCharArray();
+        try (InputStream in = Files.newInputStream(keyStoreFile)) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, passwordChars);
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (keyStore.isKeyEntry(alias) && keyStore.getKey(alias, passwordChars) instanceof PrivateKey key) {
+                    PublicKey certificateKey = keyStore.getCertificate(alias).getPublicKey();
+                    return new AsymmetricJwtSigner(algorithm, new KeyPair(certificateKey, key));
+                }
+            }
+            throw new IllegalArgumentException("No private key entry found in " + keyStoreFile);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalArgumentException("Could not load JWT key store " + keyStoreFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String sign(String subject, long issuedAtSeconds, long expiresAtSeconds) {
+        String signingInput = JwtEncoding.signingInput(encodedHeader, subject, issuedAtSeconds, expiresAtSeconds);
+        try {
+            Signature signature = Signature.getInstance(signatureAlgorithm);
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + '.' + JwtEncoding.BASE64_URL.encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign token with " + algorithm, e);
+        }
+    }
+
+    public Map<String, Object> publicJwk() {
+        return Jwks.toJwk(publicKey, keyId, algorithm);
+    }
+
+    @Override
+    public String algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public String keyId() {
+        return keyId;
+    }
+
+    @Override
+    public PublicKey verificationKey() {
+        return publicKey;
+    }
+
+    // JWS wants ES256 signatures as the raw r||s pair (RFC 7518 §3.4), which is the P1363 format, not DER.
+    private static String signatureAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case Jwks.RS256 -> "SHA256withRSA";
+            case Jwks.ES256 -> "SHA256withECDSAinP1363Format";
+            default -> throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+        };
+    }
+
+    private static PublicKey checkKey(String algorithm, PublicKey publicKey) {
+        boolean matches = switch (algorithm) {
+            case Jwks.RS256 -> publicKey instanceof RSAPublicKey rsa
+                    && rsa.getModulus().bitLength() >= MINIMUM_RSA_KEY_SIZE;
+            case Jwks.ES256 -> publicKey instanceof ECPublicKey ec
+                    && ec.getParams().getCurve().getField().getFieldSize() == 256;
+            default -> false;
+        };
+        if (!matches) {
+            throw new IllegalArgumentException(algorithm + " requires "
+                    + (Jwks.RS256.equals(algorithm) ? "an RSA key of at least " + MINIMUM_RSA_KEY_SIZE + " bits" : "a P-256 key")
+                    + ", got " + publicKey.getAlgorithm());
+        }
+        return publicKey;
+    }
+}
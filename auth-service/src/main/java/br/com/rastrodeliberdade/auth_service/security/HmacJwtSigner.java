@@ -0,0 +1,72 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import br.com.rastrodeliberdade.auth_token_verifier.HmacKeys;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+public final class HmacJwtSigner implements JwtSigner {
+    private static final String MAC_ALGORITHM = HmacKeys.MAC_ALGORITHM;
+
+    private final String keyId;
+    private final String encodedHeader;
+    private final SecretKey key;
+    private final Mac prototype;
+
+    private HmacJwtSigner(String secret) throws GeneralSecurityException {
+        this.key = HmacKeys.fromSecret(secret);
+        this.keyId = HmacKeys.keyId(secret);
+        this.encodedHeader = JwtEncoding.header(HmacKeys.ALGORITHM, keyId);
+        this.prototype = Mac.getInstance(MAC_ALGORITHM);
+        this.prototype.init(key);
+    }
+
+    public static HmacJwtSigner fromSecret(String secret) {
+        try {
+            return new HmacJwtSigner(secret);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialize " + MAC_ALGORITHM, e);
+        }
+    }
+
+    @Override
+    public String sign(String subject, long issuedAtSeconds, long expiresAtSeconds) {
+        String signingInput = JwtEncoding.signingInput(encodedHeader, subject, issuedAtSeconds, expiresAtSeconds);
+        byte[] signature = newMac().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+
+        return signingInput + '.' + JwtEncoding.BASE64_URL.encodeToString(signature);
+    }
+
+    @Override
+    public String algorithm() {
+        return HmacKeys.ALGORITHM;
+    }
+
+    @Override
+    public String keyId() {
+        return keyId;
+    }
+
+    @Override
+    public SecretKey verificationKey() {
+        return key;
+    }
+
+    // Cloning the initialized Mac skips re-deriving the HMAC pads on every token, and unlike a ThreadLocal
+    // it does not leave one Mac behind per virtual thread.
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            try {
+                Mac mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Could not initialize " + MAC_ALGORITHM, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+final class JwtEncoding {
+    static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private JwtEncoding() {
+    }
+
+    static String header(String algorithm, String keyId) {
+        return BASE64_URL.encodeToString(
+                ("{\"alg\":\"" + algorithm + "\",\"typ\":\"JWT\",\"kid\":\"" + keyId + "\"}")
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String signingInput(String encodedHeader, String subject, long issuedAtSeconds, long expiresAtSeconds) {
+        StringBuilder payload = new StringBuilder(64 + subject.length())
+                .append("{\"sub\":\"");
+        JsonStringEncoder.getInstance().quoteAsString(subject, payload);
+        payload.append("\",\"iat\":").append(issuedAtSeconds)
+                .append(",\"exp\":").append(expiresAtSeconds)
+                .append('}');
+
+        return encodedHeader + '.' + BASE64_URL.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import java.security.Key;
+
+public interface JwtSigner {
+    String algorithm();
+
+    String keyId();
+
+    Key verificationKey();
+
+    String sign(String subject, long issuedAtSeconds, long expiresAtSeconds);
+}
@@ -0,0 +1,166 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import br.com.rastrodeliberdade.auth_token_verifier.HmacKeys;
+import br.com.rastrodeliberdade.auth_token_verifier.Jwks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+public class JwtSigningKeyProvider {
+    private static final Logger log = LoggerFactory.getLogger(JwtSigningKeyProvider.class);
+
+    private final String algorithm;
+    private final Path keyFile;
+    private final String keyStorePassword;
+    private final long reloadIntervalNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong nextReloadCheck;
+
+    private volatile JwtSigner signer;
+    private volatile JwtSigner previousSigner;
+    private volatile FileTime keyFileModified;
+
+    @Autowired
+    public JwtSigningKeyProvider(@Value("${jwt.algorithm:HS512}") String algorithm,
+                                 @Value("${jwt.secret:}") String secret,
+                                 @Value("${jwt.secret-file:}") String secretFile,
+                                 @Value("${jwt.key-store:}") String keyStore,
+                                 @Value("${jwt.key-store-password:}") String keyStorePassword,
+                                 @Value("${jwt.secret-reload-interval:30s}") Duration reloadInterval) {
+        this(algorithm, secret, toPath(HmacKeys.ALGORITHM.equals(algorithm) ? secretFile : keyStore),
+                keyStorePassword, reloadInterval, System::nanoTime);
+    }
+
+    JwtSigningKeyProvider(String secret, Path secretFile, Duration reloadInterval, LongSupplier nanoTime) {
+        this(HmacKeys.ALGORITHM, secret, secretFile, null, reloadInterval, nanoTime);
+    }
+
+    JwtSigningKeyProvider(String algorithm, String secret, Path keyFile, String keyStorePassword,
+                          Duration reloadInterval, LongSupplier nanoTime) {
+        this.algorithm = algorithm;
+        this.keyFile = keyFile;
+        this.keyStorePassword = keyStorePassword;
+        this.reloadIntervalNanos = reloadInterval.toNanos();
+        this.nanoTime = nanoTime;
+        this.nextReloadCheck = new AtomicLong(nanoTime.getAsLong() + reloadIntervalNanos);
+
+        if (keyFile != null) {
+            this.keyFileModified = lastModified(keyFile);
+            this.signer = load(keyFile);
+        } else if (!HmacKeys.ALGORITHM.equals(algorithm)) {
+            // Without a key store each instance signs with its own key, which is only safe for a single node.
+            this.signer = AsymmetricJwtSigner.generate(algorithm);
+            log.warn("No jwt.key-store configured, generated an ephemeral {} key with kid {}", algorithm, signer.keyId());
+        } else if (secret != null && !secret.isBlank()) {
+            this.signer = HmacJwtSigner.fromSecret(secret);
+        } else {
+            throw new IllegalStateException("Either jwt.secret or jwt.secret-file must be configured");
+        }
+    }
+
+    public JwtSigner currentSigner() {
+        if (keyFile != null) {
+            long now = nanoTime.getAsLong();
+            long nextCheck = nextReloadCheck.get();
+            if (now - nextCheck >= 0 && nextReloadCheck.compareAndSet(nextCheck, now + reloadIntervalNanos)) {
+                reloadIfChanged();
+            }
+        }
+        return signer;
+    }
+
+    public Key verificationKey(String keyId) {
+        JwtSigner current = currentSigner();
+        if (keyId == null) {
+            return current instanceof HmacJwtSigner ? current.verificationKey() : null;
+        }
+        for (JwtSigner candidate : signers()) {
+            if (candidate.keyId().equals(keyId)) {
+                return candidate.verificationKey();
+            }
+        }
+        return null;
+    }
+
+    public List<Map<String, Object>> publicJwks() {
+        currentSigner();
+        List<Map<String, Object>> jwks = new ArrayList<>(2);
+        for (JwtSigner candidate : signers()) {
+            if (candidate instanceof AsymmetricJwtSigner asymmetric) {
+                jwks.add(asymmetric.publicJwk());
+            }
+        }
+        return jwks;
+    }
+
+    public void rotate(JwtSigner rotated) {
+        log.info("Rotating JWT signing key from kid {} to kid {}", signer.keyId(), rotated.keyId());
+        previousSigner = signer;
+        signer = rotated;
+    }
+
+    void reloadIfChanged() {
+        try {
+            FileTime modified = lastModified(keyFile);
+            if (!modified.equals(keyFileModified)) {
+                rotate(load(keyFile));
+                keyFileModified = modified;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not reload JWT signing key from {}, keeping kid {}: {}",
+                    keyFile, signer.keyId(), e.getMessage());
+        }
+    }
+
+    // The previous key stays valid and published until the next rotation so tokens issued just before a
+    // rotation keep verifying everywhere.
+    private List<JwtSigner> signers() {
+        JwtSigner current = signer;
+        JwtSigner previous = previousSigner;
+        return previous == null ? List.of(current) : List.of(current, previous);
+    }
+
+    private JwtSigner load(Path file) {
+        return switch (algorithm) {
+            case HmacKeys.ALGORITHM -> HmacJwtSigner.fromSecret(readSecret(file));
+            case Jwks.RS256, Jwks.ES256 -> AsymmetricJwtSigner.fromKeyStore(algorithm, file, keyStorePassword);
+            default -> throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + algorithm);
+        };
+    }
+
+    private static Path toPath(String file) {
+        return file.isBlank() ? null : Path.of(file);
+    }
+
+    private static String readSecret(Path secretFile) {
+        try {
+            return Files.readString(secretFile).strip();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import br.com.rastrodeliberdade.auth_service.jfr.LoginEvent;
+import br.com.rastrodeliberdade.service_commons.security.BoundedPasswordEncoder;
+import io.micrometer.tracing.Tracer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Adds the time spent verifying the password, queue wait included, to the login's JFR event.
+public class LoginTimingPasswordEncoder extends BoundedPasswordEncoder {
+
+    public LoginTimingPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Tracer tracer) {
+        super(delegate, threads, queueCapacity, tracer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long startedAt = System.nanoTime();
+        try {
+            return super.matches(rawPassword, encodedPassword);
+        } finally {
+            LoginEvent.recordVerify(System.nanoTime() - startedAt);
+        }
+    }
+}
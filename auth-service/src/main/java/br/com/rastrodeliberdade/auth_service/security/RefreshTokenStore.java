@@ -0,0 +1,94 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import br.com.rastrodeliberdade.auth_token_verifier.InvalidTokenException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Set;
+
+@Component
+public class RefreshTokenStore {
+
+    public static final String CACHE_NAME = "refresh-tokens";
+
+    private static final int TOKEN_BYTES = 32;
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecureRandom random = new SecureRandom();
+    private final Duration expiration;
+    private final Cache<String, String> subjectsByTokenHash;
+
+    @Autowired
+    public RefreshTokenStore(@Value("${jwt.refresh.expiration}") Duration expiration,
+                             @Value("${jwt.refresh.maximum-size}") long maximumSize,
+                             MeterRegistry meterRegistry) {
+        this(expiration, maximumSize, Ticker.systemTicker(), Scheduler.systemScheduler());
+        CaffeineCacheMetrics.monitor(meterRegistry, subjectsByTokenHash, CACHE_NAME);
+    }
+
+    // Only a SHA-256 of each token is kept, so a heap dump does not leak usable refresh tokens. The
+    // scheduler sweeps expired entries proactively instead of waiting for them to be touched again.
+    RefreshTokenStore(Duration expiration, long maximumSize, Ticker ticker, Scheduler scheduler) {
+        this.expiration = expiration;
+        this.subjectsByTokenHash = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expiration)
+                .ticker(ticker)
+                .scheduler(scheduler)
+                .recordStats()
+                .build();
+    }
+
+    public String issue(String subject) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = BASE64_URL.encodeToString(bytes);
+        subjectsByTokenHash.put(hash(token), subject);
+        return token;
+    }
+
+    public String consume(String token) {
+        String subject = subjectsByTokenHash.asMap().remove(hash(token));
+        if (subject == null) {
+            throw new InvalidTokenException("Refresh token inválido ou expirado");
+        }
+        return subject;
+    }
+
+    public void revoke(Collection<String> subjects) {
+        Set<String> revoked = Set.copyOf(subjects);
+        subjectsByTokenHash.asMap().values().removeIf(revoked::contains);
+    }
+
+    public Duration expiration() {
+        return expiration;
+    }
+
+    long estimatedSize() {
+        subjectsByTokenHash.cleanUp();
+        return subjectsByTokenHash.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            return BASE64_URL.encodeToString(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
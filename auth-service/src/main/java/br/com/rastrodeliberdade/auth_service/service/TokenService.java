@@ -1,38 +1,60 @@
 package br.com.rastrodeliberdade.auth_service.service;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import br.com.rastrodeliberdade.auth_service.security.JwtSigner;
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TokenService {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final JwtSigningKeyProvider signingKeyProvider;
+    private final long jwtExpirationSeconds;
+    private final Timer signingTimer;
+    private final Tracer tracer;
+
+    public TokenService(JwtSigningKeyProvider signingKeyProvider, @Value("${jwt.expiration}") long jwtExpiration,
+                        MeterRegistry meterRegistry, Tracer tracer) {
+        this.signingKeyProvider = signingKeyProvider;
+        this.tracer = tracer;
+        this.jwtExpirationSeconds = TimeUnit.MILLISECONDS.toSeconds(jwtExpiration);
+        this.signingTimer = Timer.builder("token.signing.duration")
+                .description("Time spent building and signing an access token")
+                .tag("algorithm", signingKeyProvider.currentSigner().algorithm())
+                .register(meterRegistry);
+    }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        return generateToken(userPrincipal.getUsername());
+    }
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public String generateToken(String subject) {
+        long startedAt = System.nanoTime();
+        long issuedAt = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+
+        JwtSigner signer = signingKeyProvider.currentSigner();
+        Span span = tracer.nextSpan().name("token.sign").tag("algorithm", signer.algorithm()).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return signer.sign(subject, issuedAt, issuedAt + jwtExpirationSeconds);
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+            signingTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
 
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(expiryDate)
-                .signWith(key,SignatureAlgorithm.HS512)
-                .compact();
+    public long expirationSeconds() {
+        return jwtExpirationSeconds;
     }
-}
\ No newline at end of file
+}
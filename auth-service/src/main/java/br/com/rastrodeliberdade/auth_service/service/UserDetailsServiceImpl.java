@@ -2,16 +2,21 @@ package br.com.rastrodeliberdade.auth_service.service;
 
 import br.com.rastrodeliberdade.auth_service.client.RiderServiceClient;
 import br.com.rastrodeliberdade.auth_service.dto.RiderAuthDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 
 import java.util.Collections;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+    private static final Logger log = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
 
     private final RiderServiceClient riderServiceClient;
 
@@ -26,6 +31,23 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
     }
 
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        try {
+            if (!riderServiceClient.updatePasswordHash(user.getUsername(), user.getPassword(), newPassword)) {
+                log.info("Skipped password hash upgrade for {}, the stored hash changed in the meantime",
+                        user.getUsername());
+            }
+        } catch (RestClientException e) {
+            log.warn("Could not store upgraded password hash for {}, it will be retried on the next login: {}",
+                    user.getUsername(), e.getMessage());
+        }
+
+        return User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
     private UserDetails mapToUserDetails(RiderAuthDto riderDto) {
         return new User(
                 riderDto.email(),
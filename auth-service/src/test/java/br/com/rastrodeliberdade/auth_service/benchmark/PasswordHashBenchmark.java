@@ -0,0 +1,58 @@
+package br.com.rastrodeliberdade.auth_service.benchmark;
+
+import br.com.rastrodeliberdade.service_commons.security.PasswordEncoders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    private static final String RAW_PASSWORD = "12345mudar!";
+
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "argon2:19456:2:1", "argon2:47104:1:1", "argon2:65536:3:1"})
+    public String configuration;
+
+    private PasswordEncoder passwordEncoder;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = configuration.split(":");
+        passwordEncoder = switch (parts[0]) {
+            case PasswordEncoders.BCRYPT -> PasswordEncoders.delegating(
+                    PasswordEncoders.BCRYPT, Integer.parseInt(parts[1]), 19456, 2, 1);
+            case PasswordEncoders.ARGON2 -> PasswordEncoders.delegating(
+                    PasswordEncoders.ARGON2, 10,
+                    Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+            default -> throw new IllegalArgumentException("Unknown configuration: " + configuration);
+        };
+        storedHash = passwordEncoder.encode(RAW_PASSWORD);
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordEncoder.encode(RAW_PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return passwordEncoder.matches(RAW_PASSWORD, storedHash);
+    }
+}
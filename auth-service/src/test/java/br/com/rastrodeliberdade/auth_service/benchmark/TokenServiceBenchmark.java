@@ -0,0 +1,74 @@
+package br.com.rastrodeliberdade.auth_service.benchmark;
+
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import br.com.rastrodeliberdade.auth_service.service.TokenService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String JWT_SECRET = "minha-chave-secreta-super-longa-para-testes-de-hs512-nao-usar-em-producao";
+    private static final long JWT_EXPIRATION = 86400000;
+
+    private Authentication authentication;
+    private TokenService tokenService;
+
+    @Setup
+    public void setUp() {
+        authentication = UsernamePasswordAuthenticationToken.authenticated(
+                new User("rider@rastrodeliberdade.com", "ignored", Collections.emptyList()), null, Collections.emptyList());
+        tokenService = new TokenService(new JwtSigningKeyProvider("HS512", JWT_SECRET, "", "", "", Duration.ofSeconds(30)), JWT_EXPIRATION,
+                new SimpleMeterRegistry(), Tracer.NOOP);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(authentication);
+    }
+
+    // The issuance path TokenService used before the key was cached: key derivation and a full jjwt build per call.
+    @Benchmark
+    public String generateTokenPerCallKey() {
+        User userPrincipal = (User) authentication.getPrincipal();
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + JWT_EXPIRATION);
+
+        SecretKey key = Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+
+        return Jwts.builder()
+                .setSubject(userPrincipal.getUsername())
+                .setIssuedAt(new Date())
+                .setExpiration(expiryDate)
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.rastrodeliberdade.auth_service.cache;
+
+import br.com.rastrodeliberdade.auth_service.dto.RiderAuthDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RiderAuthCacheTest {
+
+    private final AtomicLong fakeTime = new AtomicLong();
+    private final AtomicInteger loaderCalls = new AtomicInteger();
+
+    private RiderAuthCache riderAuthCache;
+    private RiderAuthDto riderAuthDto;
+
+    @BeforeEach
+    void setUp() {
+        riderAuthCache = new RiderAuthCache(true, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), fakeTime::get);
+        riderAuthDto = new RiderAuthDto(UUID.randomUUID(), "rider@test.com", "hashed-password");
+    }
+
+    private Function<String, Optional<RiderAuthDto>> loaderReturning(Optional<RiderAuthDto> result) {
+        return email -> {
+            loaderCalls.incrementAndGet();
+            return result;
+        };
+    }
+
+    @Test
+    @DisplayName("Should call the loader only once while the cached entry is fresh")
+    void get_whenEntryIsFresh_shouldNotCallLoaderAgain() {
+        riderAuthCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+        fakeTime.addAndGet(TimeUnit.MINUTES.toNanos(4));
+        Optional<RiderAuthDto> result = riderAuthCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+
+        assertThat(result).contains(riderAuthDto);
+        assertThat(loaderCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload the entry once the TTL has passed")
+    void get_whenTtlHasPassed_shouldCallLoaderAgain() {
+        riderAuthCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+        fakeTime.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        riderAuthCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep unknown emails only for the shorter negative TTL")
+    void get_whenEmailIsUnknown_shouldExpireAfterNegativeTtl() {
+        riderAuthCache.get("ghost@test.com", loaderReturning(Optional.empty()));
+        fakeTime.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        riderAuthCache.get("ghost@test.com", loaderReturning(Optional.empty()));
+
+        assertThat(loaderCalls.get()).isEqualTo(1);
+
+        fakeTime.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        riderAuthCache.get("ghost@test.com", loaderReturning(Optional.empty()));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload the entry after it was invalidated")
+    void invalidate_shouldForceReload() {
+        riderAuthCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+        riderAuthCache.invalidate(List.of("rider@test.com", "old@test.com"));
+        riderAuthCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict entries when the maximum size is exceeded")
+    void get_whenMaximumSizeIsExceeded_shouldEvict() {
+        RiderAuthCache smallCache = new RiderAuthCache(true, 2, Duration.ofMinutes(5), Duration.ofSeconds(30), fakeTime::get);
+
+        for (int i = 0; i < 10; i++) {
+            smallCache.get("rider" + i + "@test.com", loaderReturning(Optional.empty()));
+        }
+
+        assertThat(smallCache.estimatedSize()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should always call the loader when the cache is disabled")
+    void get_whenDisabled_shouldAlwaysCallLoader() {
+        RiderAuthCache disabledCache = new RiderAuthCache(false, 100, Duration.ofMinutes(5), Duration.ofSeconds(30), fakeTime::get);
+
+        disabledCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+        disabledCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache a failed lookup and rethrow the original exception")
+    void get_whenLoaderFails_shouldRethrowAndNotCache() {
+        assertThatThrownBy(() -> riderAuthCache.get("rider@test.com", email -> {
+            throw new IllegalStateException("rider-service unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        Optional<RiderAuthDto> result = riderAuthCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+
+        assertThat(result).contains(riderAuthDto);
+        assertThat(loaderCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a lookup that raced with an invalidation")
+    void get_whenInvalidatedDuringLoad_shouldNotCacheLoadedValue() {
+        riderAuthCache.get("rider@test.com", email -> {
+            loaderCalls.incrementAndGet();
+            riderAuthCache.invalidate(List.of(email));
+            return Optional.of(riderAuthDto);
+        });
+        riderAuthCache.get("rider@test.com", loaderReturning(Optional.of(riderAuthDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,231 @@
+package br.com.rastrodeliberdade.auth_service.client;
+
+import br.com.rastrodeliberdade.auth_service.cache.RiderAuthCache;
+import br.com.rastrodeliberdade.auth_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.auth_service.jfr.LoginEvent;
+import br.com.rastrodeliberdade.auth_service.jfr.RiderLookupEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withNoContent;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withResourceNotFound;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RiderServiceClientTest {
+
+    private static final String RIDER_JSON = """
+            {"id":"%s","email":"rider+tag@test.com","password":"hashed-password"}
+            """;
+
+    private MockRestServiceServer mockServer;
+    private RiderServiceClient riderServiceClient;
+    private RiderAuthCache passThroughCache;
+    private SimpleMeterRegistry meterRegistry;
+    private UUID riderId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+
+        passThroughCache = mock(RiderAuthCache.class);
+        when(passThroughCache.get(anyString(), any())).thenAnswer(invocation ->
+                invocation.<Function<String, Optional<RiderAuthDto>>>getArgument(1).apply(invocation.getArgument(0)));
+
+        meterRegistry = new SimpleMeterRegistry();
+        riderServiceClient = new RiderServiceClient(restTemplate, "http://rider-service", passThroughCache, meterRegistry,
+                Tracer.NOOP);
+        riderId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should return the rider with the email encoded in the query string")
+    void findByEmail_whenRiderExists_shouldReturnRider() {
+        mockServer.expect(requestTo("http://rider-service/rider/internal/by-email?email=rider%2Btag%40test.com"))
+                .andRespond(withSuccess(RIDER_JSON.formatted(riderId), MediaType.APPLICATION_JSON));
+
+        Optional<RiderAuthDto> result = riderServiceClient.findByEmail("rider+tag@test.com");
+
+        assertThat(result).contains(new RiderAuthDto(riderId, "rider+tag@test.com", "hashed-password"));
+        assertThat(lookupCount("found")).isEqualTo(1);
+        mockServer.verify();
+    }
+
+    @Test
+    @DisplayName("Should return empty when rider-service answers 404")
+    void findByEmail_whenRiderDoesNotExist_shouldReturnEmpty() {
+        mockServer.expect(requestTo("http://rider-service/rider/internal/by-email?email=ghost%40test.com"))
+                .andRespond(withResourceNotFound());
+
+        assertThat(riderServiceClient.findByEmail("ghost@test.com")).isEmpty();
+        assertThat(lookupCount("not-found")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should find a rider who registers after a cached failed lookup once rider-service evicts the e-mail")
+    void findByEmail_afterRegistrationEviction_shouldReturnNewRider() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        RiderAuthCache cache = new RiderAuthCache(true, 100, Duration.ofMinutes(5), Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        RiderServiceClient client = new RiderServiceClient(restTemplate, "http://rider-service", cache, meterRegistry,
+                Tracer.NOOP);
+        server.expect(once(), requestTo("http://rider-service/rider/internal/by-email?email=rider%2Btag%40test.com"))
+                .andRespond(withResourceNotFound());
+        server.expect(once(), requestTo("http://rider-service/rider/internal/by-email?email=rider%2Btag%40test.com"))
+                .andRespond(withSuccess(RIDER_JSON.formatted(riderId), MediaType.APPLICATION_JSON));
+
+        assertThat(client.findByEmail("rider+tag@test.com")).isEmpty();
+        assertThat(client.findByEmail("rider+tag@test.com")).isEmpty();
+
+        // What rider-service sends through DELETE /internal/cache/riders once the sign-up commits.
+        cache.invalidate(List.of("rider+tag@test.com"));
+
+        assertThat(client.findByEmail("rider+tag@test.com"))
+                .contains(new RiderAuthDto(riderId, "rider+tag@test.com", "hashed-password"));
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Should propagate server errors so they are not cached as unknown emails")
+    void findByEmail_whenRiderServiceFails_shouldThrow() {
+        mockServer.expect(requestTo("http://rider-service/rider/internal/by-email?email=rider%40test.com"))
+                .andRespond(withServerError());
+
+        assertThatThrownBy(() -> riderServiceClient.findByEmail("rider@test.com"))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThat(lookupCount("error")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record a rider lookup event without the email and add its time to the login in progress")
+    void findByEmail_duringLogin_shouldRecordJfrEvents() throws Exception {
+        mockServer.expect(requestTo("http://rider-service/rider/internal/by-email?email=rider%2Btag%40test.com"))
+                .andRespond(withSuccess(RIDER_JSON.formatted(riderId), MediaType.APPLICATION_JSON));
+        Path file = Files.createTempFile("rider-service-client-test", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(LoginEvent.class);
+            recording.enable(RiderLookupEvent.class);
+            recording.start();
+            LoginEvent loginEvent = LoginEvent.start();
+            riderServiceClient.findByEmail("rider+tag@test.com");
+            loginEvent.finish("success");
+            recording.stop();
+            recording.dump(file);
+
+            Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .collect(Collectors.toMap(event -> event.getEventType().getName(), Function.identity()));
+            RecordedEvent lookup = events.get("br.com.rastrodeliberdade.auth.RiderLookup");
+            RecordedEvent login = events.get("br.com.rastrodeliberdade.auth.Login");
+
+            assertThat(lookup.getString("url")).isEqualTo("http://rider-service/rider/internal/by-email");
+            assertThat(lookup.getInt("status")).isEqualTo(200);
+            assertThat(login.getDuration("lookupDuration")).isGreaterThanOrEqualTo(lookup.getDuration());
+            assertThat(login.getString("outcome")).isEqualTo("success");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent lookups for the same email into a single request")
+    void findByEmail_whenCalledConcurrently_shouldSendSingleRequest() throws Exception {
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch releaseResponse = new CountDownLatch(1);
+
+        mockServer.expect(once(), requestTo("http://rider-service/rider/internal/by-email?email=rider%2Btag%40test.com"))
+                .andRespond(request -> {
+                    requestStarted.countDown();
+                    try {
+                        releaseResponse.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return withSuccess(RIDER_JSON.formatted(riderId), MediaType.APPLICATION_JSON).createResponse(request);
+                });
+
+        CompletableFuture<Optional<RiderAuthDto>> first =
+                CompletableFuture.supplyAsync(() -> riderServiceClient.findByEmail("rider+tag@test.com"));
+        requestStarted.await();
+
+        CompletableFuture<Optional<RiderAuthDto>> second = new CompletableFuture<>();
+        Thread secondCaller = new Thread(() -> second.complete(riderServiceClient.findByEmail("rider+tag@test.com")));
+        secondCaller.start();
+        while (secondCaller.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        releaseResponse.countDown();
+
+        assertThat(first.get()).isPresent();
+        assertThat(second.get()).isEqualTo(first.get());
+        mockServer.verify();
+    }
+
+    @Test
+    @DisplayName("Should send the upgraded hash to rider-service and evict the cached entry")
+    void updatePasswordHash_whenStoredHashUnchanged_shouldReturnTrueAndInvalidate() {
+        mockServer.expect(requestTo("http://rider-service/rider/internal/password-hash"))
+                .andExpect(method(HttpMethod.PUT))
+                .andExpect(content().json("""
+                        {"email":"rider@test.com","currentPasswordHash":"old-hash","newPasswordHash":"new-hash"}
+                        """))
+                .andRespond(withNoContent());
+
+        assertThat(riderServiceClient.updatePasswordHash("rider@test.com", "old-hash", "new-hash")).isTrue();
+        verify(passThroughCache).invalidate(List.of("rider@test.com"));
+        mockServer.verify();
+    }
+
+    @Test
+    @DisplayName("Should return false when rider-service answers 409 because the stored hash changed")
+    void updatePasswordHash_whenStoredHashChanged_shouldReturnFalseAndInvalidate() {
+        mockServer.expect(requestTo("http://rider-service/rider/internal/password-hash"))
+                .andRespond(withStatus(HttpStatus.CONFLICT));
+
+        assertThat(riderServiceClient.updatePasswordHash("rider@test.com", "old-hash", "new-hash")).isFalse();
+        verify(passThroughCache).invalidate(List.of("rider@test.com"));
+    }
+
+    private long lookupCount(String outcome) {
+        return meterRegistry.get("rider.lookup.duration").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.rastrodeliberdade.auth_service.config;
+
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpClientConfigTest {
+
+    private static final String INTERNAL_SERVICE_TOKEN = "token-interno-de-testes-com-pelo-menos-32-bytes";
+
+    private final HttpClientConfig httpClientConfig = new HttpClientConfig();
+    private final Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+    private final Set<String> internalServiceTokens = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/fast", exchange -> {
+            clientAddresses.add(exchange.getRemoteAddress());
+            internalServiceTokens.add(exchange.getRequestHeaders().getFirst(InternalServiceToken.HEADER));
+            respond(exchange, "ok");
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "late");
+        });
+        server.start();
+
+        httpClient = httpClientConfig.riderServiceHttpClient(
+                10, Duration.ofMillis(500), Duration.ofMillis(200), Duration.ofMillis(500), Duration.ofSeconds(15));
+        restTemplate = httpClientConfig.restTemplate(new RestTemplateBuilder(), httpClient,
+                new InternalServiceToken(INTERNAL_SERVICE_TOKEN));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    @Test
+    @DisplayName("Should reuse the pooled keep-alive connection for consecutive requests")
+    void restTemplate_shouldReuseConnection() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(restTemplate.getForObject(url("/fast"), String.class)).isEqualTo("ok");
+        }
+
+        assertThat(clientAddresses).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should present the internal service token on every call to rider-service")
+    void restTemplate_shouldSendInternalServiceToken() {
+        restTemplate.getForObject(url("/fast"), String.class);
+
+        assertThat(internalServiceTokens).containsExactly(INTERNAL_SERVICE_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the server takes longer than the read timeout")
+    void restTemplate_whenServerIsSlow_shouldTimeOut() {
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> restTemplate.getForObject(url("/slow"), String.class))
+                .isInstanceOf(ResourceAccessException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(900));
+    }
+}
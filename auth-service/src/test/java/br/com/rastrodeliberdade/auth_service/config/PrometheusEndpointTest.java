@@ -0,0 +1,36 @@
+package br.com.rastrodeliberdade.auth_service.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class PrometheusEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Should expose route, dependency, hashing and signing latency histograms in Prometheus format")
+    void prometheus_afterRequest_shouldExposeLatencyHistograms() {
+        restTemplate.getForEntity("/.well-known/jwks.json", String.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .containsPattern("http_server_requests_seconds_bucket\\{application=\"auth-service\".*"
+                        + "uri=\"/.well-known/jwks.json\"")
+                .containsPattern("rider_lookup_duration_seconds_bucket\\{application=\"auth-service\".*outcome=\"found\"")
+                .containsPattern("password_hashing_duration_seconds_bucket\\{application=\"auth-service\"")
+                .containsPattern("token_signing_duration_seconds_bucket\\{algorithm=\"HS512\",application=\"auth-service\"");
+    }
+}
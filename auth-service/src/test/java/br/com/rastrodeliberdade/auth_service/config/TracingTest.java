@@ -0,0 +1,127 @@
+package br.com.rastrodeliberdade.auth_service.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.tracing.sampling.probability=1.0",
+        "password.hashing.bcrypt.strength=4",
+        "rider.auth.cache.enabled=false"
+})
+@AutoConfigureObservability
+class TracingTest {
+
+    private static final String PASSWORD = "password123";
+    private static final AtomicReference<String> receivedTraceparent = new AtomicReference<>();
+    private static final HttpServer riderServiceStub = startRiderServiceStub();
+
+    @TestConfiguration
+    static class InMemoryExport {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    private static HttpServer startRiderServiceStub() {
+        String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/rider/internal/by-email", exchange -> {
+                receivedTraceparent.set(exchange.getRequestHeaders().getFirst("traceparent"));
+                byte[] body = """
+                        {"id":"%s","email":"rider@test.com","password":"%s"}
+                        """.formatted(UUID.randomUUID(), passwordHash).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void riderServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("rider.service.url", () -> "http://localhost:" + riderServiceStub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopRiderServiceStub() {
+        riderServiceStub.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should trace the login phases in one trace and propagate it to rider-service")
+    void login_shouldRecordPhaseSpansAndPropagateTraceContext() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<String> response = restTemplate.postForEntity("/login", new HttpEntity<>("""
+                {"email":"rider@test.com","password":"%s"}
+                """.formatted(PASSWORD), headers), String.class);
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        Map<String, SpanData> phases = spans.stream()
+                .filter(span -> List.of("rider.lookup", "password.verify", "token.sign").contains(span.getName()))
+                .collect(Collectors.toMap(SpanData::getName, Function.identity()));
+        SpanData loginSpan = spans.stream()
+                .filter(span -> span.getName().equals("http post /login"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(phases).containsOnlyKeys("rider.lookup", "password.verify", "token.sign");
+        assertThat(phases.values()).allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(loginSpan.getTraceId()));
+        assertThat(phases.get("token.sign").getAttributes().asMap().values()).contains("HS512");
+        assertThat(receivedTraceparent.get()).contains(loginSpan.getTraceId());
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.rastrodeliberdade.auth_service.config;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual")
+class VirtualThreadModeTest {
+
+    @TestConfiguration
+    static class RequestThreadRecorder {
+        private final AtomicReference<Thread> lastRequestThread = new AtomicReference<>();
+
+        @Bean
+        AtomicReference<Thread> lastRequestThread() {
+            return lastRequestThread;
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> requestThreadRecordingFilter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                lastRequestThread.set(Thread.currentThread());
+                chain.doFilter(request, response);
+            });
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AtomicReference<Thread> lastRequestThread;
+
+    @Test
+    @DisplayName("Should handle requests on virtual threads when the virtual profile is active")
+    void request_withVirtualProfile_shouldRunOnVirtualThread() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        restTemplate.postForEntity("/login", new HttpEntity<>("{}", headers), String.class);
+
+        assertThat(lastRequestThread.get()).isNotNull();
+        assertThat(lastRequestThread.get().isVirtual()).isTrue();
+    }
+}
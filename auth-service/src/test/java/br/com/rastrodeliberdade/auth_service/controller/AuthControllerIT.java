@@ -1,6 +1,7 @@
 package br.com.rastrodeliberdade.auth_service.controller;
 
 import br.com.rastrodeliberdade.auth_service.dto.LoginRequestDto;
+import br.com.rastrodeliberdade.auth_service.dto.RefreshTokenRequestDto;
 import br.com.rastrodeliberdade.auth_service.service.TokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +18,10 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -68,6 +72,33 @@ public class AuthControllerIT {
                 .andExpect(jsonPath("$.token").exists());
     }
 
+    @Test
+    @DisplayName("Integration Test: Should rotate the refresh token and reject it when reused")
+    void refresh_afterLogin_shouldRotateRefreshToken() throws Exception {
+        when(userDetailsService.loadUserByUsername("user.test@rastro.com")).thenReturn(testUser);
+
+        String loginResponse = mockMvc.perform(post("/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequestDto("user.test@rastro.com", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = objectMapper.readTree(loginResponse).get("refreshToken").asText();
+        String refreshRequest = objectMapper.writeValueAsString(new RefreshTokenRequestDto(refreshToken));
+
+        mockMvc.perform(post("/login/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.refreshToken").value(not(refreshToken)));
+        mockMvc.perform(post("/login/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(refreshRequest))
+                .andExpect(status().isUnauthorized());
+
+        verify(userDetailsService, times(1)).loadUserByUsername("user.test@rastro.com");
+    }
+
     @Test
     @DisplayName("Integration Test: Should return 403 Forbidden for incorrect password")
     void login_withIncorrectPassword_shouldReturnForbidden() throws Exception {
@@ -2,7 +2,12 @@ package br.com.rastrodeliberdade.auth_service.controller;
 
 import br.com.rastrodeliberdade.auth_service.config.SecurityConfig;
 import br.com.rastrodeliberdade.auth_service.dto.LoginRequestDto;
+import br.com.rastrodeliberdade.auth_service.dto.RefreshTokenRequestDto;
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import br.com.rastrodeliberdade.auth_service.security.RefreshTokenStore;
 import br.com.rastrodeliberdade.auth_service.service.TokenService;
+import br.com.rastrodeliberdade.auth_token_verifier.InvalidTokenException;
+import br.com.rastrodeliberdade.service_commons.security.PasswordHashingUnavailableException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,9 +23,11 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +37,9 @@ public class AuthControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @MockitoBean
+    private JwtSigningKeyProvider jwtSigningKeyProvider;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -39,6 +49,8 @@ public class AuthControllerTest {
     @MockitoBean
     private TokenService tokenService;
 
+    @MockitoBean
+    private RefreshTokenStore refreshTokenStore;
 
     @Test
     @DisplayName("Should return 200 OK and a JWT when login is successful")
@@ -47,15 +59,50 @@ public class AuthControllerTest {
         String fakeToken = "fake-jwt-token";
 
         Authentication authMock = mock(Authentication.class);
+        when(authMock.getName()).thenReturn("user@test.com");
         when(authenticationManager.authenticate(any())).thenReturn(authMock);
         when(tokenService.generateToken(authMock)).thenReturn(fakeToken);
+        when(tokenService.expirationSeconds()).thenReturn(900L);
+        when(refreshTokenStore.issue("user@test.com")).thenReturn("fake-refresh-token");
 
         mockMvc.perform(post("/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.token").value(fakeToken));
+                .andExpect(jsonPath("$.token").value(fakeToken))
+                .andExpect(jsonPath("$.refreshToken").value("fake-refresh-token"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK with new tokens without authenticating again when the refresh token is valid")
+    void refresh_withValidRefreshToken_shouldReturnNewTokens() throws Exception {
+        when(refreshTokenStore.consume("old-refresh-token")).thenReturn("user@test.com");
+        when(refreshTokenStore.issue("user@test.com")).thenReturn("new-refresh-token");
+        when(tokenService.generateToken("user@test.com")).thenReturn("new-jwt-token");
+
+        mockMvc.perform(post("/login/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto("old-refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new-jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh-token"));
+
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    @DisplayName("Should return 401 Unauthorized when the refresh token was already used or expired")
+    void refresh_withInvalidRefreshToken_shouldReturnUnauthorized() throws Exception {
+        when(refreshTokenStore.consume("used-refresh-token"))
+                .thenThrow(new InvalidTokenException("Refresh token inválido ou expirado"));
+
+        mockMvc.perform(post("/login/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto("used-refresh-token"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Refresh token inválido ou expirado"));
     }
 
     @Test
@@ -72,4 +119,21 @@ public class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @DisplayName("Should return 503 Service Unavailable when password verification is saturated")
+    void login_whenPasswordHashingIsSaturated_shouldReturnServiceUnavailable() throws Exception {
+        LoginRequestDto loginRequest = new LoginRequestDto("user@test.com", "password123");
+
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new PasswordHashingUnavailableException("Serviço de senhas sobrecarregado, tente novamente em instantes", null));
+
+        mockMvc.perform(post("/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
 }
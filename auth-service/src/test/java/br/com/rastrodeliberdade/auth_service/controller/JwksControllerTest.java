@@ -0,0 +1,41 @@
+package br.com.rastrodeliberdade.auth_service.controller;
+
+import br.com.rastrodeliberdade.auth_service.config.SecurityConfig;
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(JwksController.class)
+@Import(SecurityConfig.class)
+public class JwksControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtSigningKeyProvider jwtSigningKeyProvider;
+
+    @Test
+    @DisplayName("Should publish the public signing keys without authentication")
+    void jwks_shouldReturnPublicKeys() throws Exception {
+        when(jwtSigningKeyProvider.publicJwks()).thenReturn(List.of(Map.of(
+                "kty", "EC", "crv", "P-256", "kid", "current-kid", "use", "sig", "alg", "ES256", "x", "x", "y", "y")));
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys[0].kid").value("current-kid"))
+                .andExpect(jsonPath("$.keys[0].alg").value("ES256"));
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.rastrodeliberdade.auth_service.controller;
+
+import br.com.rastrodeliberdade.auth_service.cache.RiderAuthCache;
+import br.com.rastrodeliberdade.auth_service.config.SecurityConfig;
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import br.com.rastrodeliberdade.auth_service.security.RefreshTokenStore;
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RiderCacheController.class)
+@Import(SecurityConfig.class)
+public class RiderCacheControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtSigningKeyProvider jwtSigningKeyProvider;
+
+    @MockitoBean
+    private RiderAuthCache riderAuthCache;
+
+    @MockitoBean
+    private RefreshTokenStore refreshTokenStore;
+
+    @Value("${internal.service.token}")
+    private String internalServiceToken;
+
+    @Test
+    @DisplayName("Should return 204 No Content, evict every given email and revoke their refresh tokens")
+    void evict_withEmails_shouldInvalidateCacheAndReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/internal/cache/riders")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
+                        .param("email", "old@test.com", "new@test.com"))
+                .andExpect(status().isNoContent());
+
+        verify(riderAuthCache).invalidate(List.of("old@test.com", "new@test.com"));
+        verify(refreshTokenStore).revoke(List.of("old@test.com", "new@test.com"));
+    }
+
+    @Test
+    @DisplayName("Should return 401 and evict nothing when the caller does not present the internal service token")
+    void evict_withoutInternalServiceToken_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(delete("/internal/cache/riders")
+                        .param("email", "rider@test.com"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(riderAuthCache, refreshTokenStore);
+    }
+
+    @Test
+    @DisplayName("Should return 401 and evict nothing when the internal service token is wrong")
+    void evict_withWrongInternalServiceToken_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(delete("/internal/cache/riders")
+                        .header(InternalServiceToken.HEADER, "token-forjado-com-mais-de-trinta-e-dois-bytes")
+                        .param("email", "rider@test.com"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(riderAuthCache, refreshTokenStore);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.rastrodeliberdade.auth_service.controller;
+
+import br.com.rastrodeliberdade.auth_service.config.SecurityConfig;
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import br.com.rastrodeliberdade.auth_token_verifier.InvalidTokenException;
+import br.com.rastrodeliberdade.auth_token_verifier.TokenVerifier;
+import br.com.rastrodeliberdade.auth_token_verifier.VerifiedToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TokenController.class)
+@Import(SecurityConfig.class)
+public class TokenControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtSigningKeyProvider jwtSigningKeyProvider;
+
+    @MockitoBean
+    private TokenVerifier tokenVerifier;
+
+    @Test
+    @DisplayName("Should return 200 OK with the token subject and expiration when the token is valid")
+    void validate_withValidToken_shouldReturnClaims() throws Exception {
+        Instant issuedAt = Instant.parse("2026-01-01T12:00:00Z");
+        when(tokenVerifier.verify("valid-token"))
+                .thenReturn(new VerifiedToken("rider@test.com", issuedAt, issuedAt.plusSeconds(60)));
+
+        mockMvc.perform(get("/token/validate")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer valid-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subject").value("rider@test.com"))
+                .andExpect(jsonPath("$.expiresAt").value("2026-01-01T12:01:00Z"));
+    }
+
+    @Test
+    @DisplayName("Should return 401 Unauthorized when the token is invalid")
+    void validate_withInvalidToken_shouldReturnUnauthorized() throws Exception {
+        when(tokenVerifier.verify("forged-token")).thenThrow(new InvalidTokenException("Invalid token"));
+
+        mockMvc.perform(get("/token/validate")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer forged-token"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""))
+                .andExpect(jsonPath("$.error").value("Token inválido"));
+    }
+
+    @Test
+    @DisplayName("Should return 401 Unauthorized when no bearer token is sent")
+    void validate_withoutToken_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/token/validate"))
+                .andExpect(status().isUnauthorized());
+    }
+}
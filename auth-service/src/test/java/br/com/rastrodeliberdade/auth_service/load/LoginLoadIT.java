@@ -0,0 +1,103 @@
+package br.com.rastrodeliberdade.auth_service.load;
+
+import br.com.rastrodeliberdade.auth_service.AuthServiceApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives open-model login traffic at a fixed rate against auth-service, backed by a {@link RiderServiceStub},
+ * and reports throughput and the coordinated-omission-corrected latency from {@link OpenModelLoad}. The full
+ * latency distribution is written to {@code target/login-load-latency.hgrm}.
+ * <p>
+ * Run with {@code mvn test -Dtest=LoginLoadIT}, tuned with system properties:
+ * <ul>
+ *     <li>{@code load.rps} (20), {@code load.duration} (30s) and {@code load.warmup} (10s)</li>
+ *     <li>{@code load.riders} (1000): distinct e-mails the logins cycle through, which sets the cache hit rate</li>
+ *     <li>{@code load.stub.latency} (20ms), {@code load.stub.jitter} (10ms) and {@code load.stub.error-rate} (0)</li>
+ *     <li>{@code load.stub.bcrypt-strength} (10): strength of the stored password hashes</li>
+ *     <li>{@code load.auth.*}: passed to auth-service without the prefix, e.g.
+ *     {@code -Dload.auth.spring.threads.virtual.enabled=true} or {@code -Dload.auth.rider.auth.cache.enabled=false}</li>
+ * </ul>
+ */
+class LoginLoadIT {
+
+    private static final String PASSWORD = "password123";
+    private static final String AUTH_PROPERTY_PREFIX = "load.auth.";
+
+    private final int rps = Integer.getInteger("load.rps", 20);
+    private final Duration duration = durationProperty("load.duration", "30s");
+    private final Duration warmup = durationProperty("load.warmup", "10s");
+    private final int riders = Integer.getInteger("load.riders", 1_000);
+
+    private static Duration durationProperty(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(name, defaultValue));
+    }
+
+    private ConfigurableApplicationContext startAuthService(RiderServiceStub riderServiceStub) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--rider.service.url=" + riderServiceStub.url(),
+                "--logging.level.root=WARN"));
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(AUTH_PROPERTY_PREFIX))
+                .sorted()
+                .forEach(name -> args.add("--" + name.substring(AUTH_PROPERTY_PREFIX.length()) + "="
+                        + System.getProperty(name)));
+        return new SpringApplicationBuilder(AuthServiceApplication.class).run(args.toArray(String[]::new));
+    }
+
+    @Test
+    @DisplayName("Load: should report login throughput and corrected latency at the target rate")
+    void login_atTargetRate_shouldReportLatencyHistogram() throws Exception {
+        String passwordHash = new BCryptPasswordEncoder(Integer.getInteger("load.stub.bcrypt-strength", 10))
+                .encode(PASSWORD);
+
+        try (RiderServiceStub riderServiceStub = RiderServiceStub.start(passwordHash,
+                durationProperty("load.stub.latency", "20ms"),
+                durationProperty("load.stub.jitter", "10ms"),
+                Double.parseDouble(System.getProperty("load.stub.error-rate", "0")));
+             ConfigurableApplicationContext context = startAuthService(riderServiceStub);
+             HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI loginUri = URI.create("http://localhost:" + port + "/login");
+
+            OpenModelLoad.run(httpClient, i -> login(loginUri, i), rps, warmup);
+            long lookupsBefore = riderServiceStub.lookups();
+            OpenModelLoad.Result result = OpenModelLoad.run(httpClient, i -> login(loginUri, i), rps, duration);
+
+            result.print(System.out);
+            System.out.printf("rider-service stub: %d lookups, %d injected errors%n",
+                    riderServiceStub.lookups() - lookupsBefore, riderServiceStub.injectedErrors());
+            result.writeLatencyDistribution(Path.of("target", "login-load-latency.hgrm"));
+
+            assertThat(result.completed()).isEqualTo(result.sent());
+        }
+    }
+
+    private HttpRequest login(URI loginUri, long i) {
+        String body = """
+                {"email":"rider%d@test.com","password":"%s"}
+                """.formatted(i % riders, PASSWORD);
+        return HttpRequest.newBuilder(loginUri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.rastrodeliberdade.auth_service.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule of {@code rps} per second whatever
+ * the server does, as independent users would, instead of waiting for earlier responses.
+ * <p>
+ * Latency is measured from the time a request was scheduled to start, not from the time it was sent.
+ * When the server or the generator falls behind, the time spent waiting for a late send is therefore
+ * counted too, which corrects for coordinated omission. The service time from the actual send, which is
+ * what a closed-loop client would report, is recorded alongside for comparison.
+ */
+final class OpenModelLoad {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int TRANSPORT_FAILURE = -1;
+
+    private OpenModelLoad() {
+    }
+
+    static Result run(HttpClient httpClient, LongFunction<HttpRequest> requests, int rps, Duration duration) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long total = duration.toNanos() / intervalNanos;
+        Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        AtomicLong lastCompletion = new AtomicLong();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>((int) total);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            for (long wait = intendedStart - System.nanoTime(); wait > 0; wait = intendedStart - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            long sentAt = System.nanoTime();
+            inFlight.add(httpClient.sendAsync(requests.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        long end = System.nanoTime();
+                        latency.recordValue(toMicros(end - intendedStart));
+                        serviceTime.recordValue(toMicros(end - sentAt));
+                        int status = failure == null ? response.statusCode() : TRANSPORT_FAILURE;
+                        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        lastCompletion.accumulateAndGet(end, Math::max);
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Result(rps, duration, total, Duration.ofNanos(lastCompletion.get() - start), statusCounts,
+                latency, serviceTime);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    record Result(int targetRps, Duration duration, long sent, Duration elapsed, Map<Integer, Long> statuses,
+                  Histogram latency, Histogram serviceTime) {
+
+        long completed() {
+            return statuses.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        long succeeded() {
+            return statuses.getOrDefault(200, 0L);
+        }
+
+        double throughput() {
+            return succeeded() / (elapsed.toNanos() / 1e9);
+        }
+
+        void print(PrintStream out) {
+            out.printf("""
+                            Target %d req/s for %ds: %d sent, %d completed, %.1f successful req/s
+                            Responses by status (-1 = transport failure): %s
+                            Latency in ms          p50      p90      p99    p99.9      max
+                              from schedule %s
+                              from send     %s
+                            """,
+                    targetRps, duration.toSeconds(), sent, completed(), throughput(), statuses,
+                    percentiles(latency), percentiles(serviceTime));
+        }
+
+        void writeLatencyDistribution(Path file) throws IOException {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        private static String percentiles(Histogram histogram) {
+            return "%8.1f %8.1f %8.1f %8.1f %8.1f".formatted(
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
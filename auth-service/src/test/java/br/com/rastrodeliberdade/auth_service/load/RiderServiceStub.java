@@ -0,0 +1,125 @@
+package br.com.rastrodeliberdade.auth_service.load;
+
+import br.com.rastrodeliberdade.auth_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.auth_service.dto.RiderPasswordRehashDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for the rider-service endpoints auth-service calls during a login. Every rider exists
+ * and shares {@code passwordHash}; a rehash sent by auth-service replaces the hash of that rider only.
+ * Each lookup sleeps for {@code latency} plus a uniform random {@code jitter} and then fails with 503 with
+ * probability {@code errorRate}. All three can be changed while the stub is serving.
+ */
+final class RiderServiceStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMap<String, String> rehashedPasswords = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final String passwordHash;
+    private final HttpServer server;
+
+    private volatile Duration latency;
+    private volatile Duration jitter;
+    private volatile double errorRate;
+
+    private RiderServiceStub(String passwordHash, Duration latency, Duration jitter, double errorRate)
+            throws IOException {
+        this.passwordHash = passwordHash;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1_000);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/rider/internal/by-email", this::findByEmail);
+        server.createContext("/rider/internal/password-hash", this::updatePasswordHash);
+        server.start();
+    }
+
+    static RiderServiceStub start(String passwordHash, Duration latency, Duration jitter, double errorRate)
+            throws IOException {
+        return new RiderServiceStub(passwordHash, latency, jitter, errorRate);
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    void setLatency(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.jitter = jitter;
+    }
+
+    void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    long lookups() {
+        return lookups.sum();
+    }
+
+    long injectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void findByEmail(HttpExchange exchange) throws IOException {
+        lookups.increment();
+        try {
+            Thread.sleep(latency.plusNanos(jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toNanos())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            injectedErrors.increment();
+            respond(exchange, 503, """
+                    {"status":503,"error":"Service Unavailable","message":"Falha injetada pelo stub"}""");
+            return;
+        }
+
+        String email = URLDecoder.decode(exchange.getRequestURI().getRawQuery().substring("email=".length()),
+                StandardCharsets.UTF_8);
+        RiderAuthDto rider = new RiderAuthDto(UUID.nameUUIDFromBytes(email.getBytes(StandardCharsets.UTF_8)), email,
+                rehashedPasswords.getOrDefault(email, passwordHash));
+        respond(exchange, 200, objectMapper.writeValueAsString(rider));
+    }
+
+    private void updatePasswordHash(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            RiderPasswordRehashDto rehash = objectMapper.readValue(body, RiderPasswordRehashDto.class);
+            rehashedPasswords.put(rehash.email(), rehash.newPasswordHash());
+        }
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+    }
+
+    private void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.rastrodeliberdade.auth_service.load;
+
+import br.com.rastrodeliberdade.auth_service.AuthServiceApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares login throughput with platform and virtual request threads against a rider-service stub
+ * that blocks for {@link #RIDER_SERVICE_LATENCY} on every lookup. Tomcat is capped at
+ * {@link #TOMCAT_THREADS} platform threads so the blocking hop dominates, as it does in production.
+ * Run with {@code mvn test -Dtest=ThreadModelLoadComparisonIT}.
+ */
+class ThreadModelLoadComparisonIT {
+
+    private static final Duration RIDER_SERVICE_LATENCY = Duration.ofMillis(100);
+    private static final int TOMCAT_THREADS = 20;
+    private static final int CONCURRENT_CLIENTS = 200;
+    private static final int TOTAL_LOGINS = 2_000;
+    private static final String PASSWORD = "password123";
+
+    private static RiderServiceStub riderServiceStub;
+
+    @BeforeAll
+    static void startRiderServiceStub() throws IOException {
+        riderServiceStub = RiderServiceStub.start(new BCryptPasswordEncoder(4).encode(PASSWORD),
+                RIDER_SERVICE_LATENCY, Duration.ZERO, 0);
+    }
+
+    @AfterAll
+    static void stopRiderServiceStub() {
+        riderServiceStub.close();
+    }
+
+    private ConfigurableApplicationContext startAuthService(boolean virtualThreads) {
+        return new SpringApplicationBuilder(AuthServiceApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--rider.service.url=" + riderServiceStub.url(),
+                        "--rider.service.client.max-connections=" + CONCURRENT_CLIENTS,
+                        // Every client may be waiting on a hash at once; a smaller queue would turn them into 503s.
+                        "--password.hashing.queue-capacity=" + CONCURRENT_CLIENTS,
+                        "--rider.auth.cache.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+
+    private double measureLoginsPerSecond(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = startAuthService(virtualThreads);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI loginUri = URI.create("http://localhost:" + port + "/login");
+
+            runLogins(httpClient, loginUri, clients, TOTAL_LOGINS / 10);
+
+            long start = System.nanoTime();
+            int succeeded = runLogins(httpClient, loginUri, clients, TOTAL_LOGINS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertThat(succeeded).isEqualTo(TOTAL_LOGINS);
+            return TOTAL_LOGINS / seconds;
+        }
+    }
+
+    private int runLogins(HttpClient httpClient, URI loginUri, ExecutorService clients, int logins) throws Exception {
+        Semaphore concurrency = new Semaphore(CONCURRENT_CLIENTS);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> requests = new ArrayList<>(logins);
+
+        for (int i = 0; i < logins; i++) {
+            String body = """
+                    {"email":"rider%d@test.com","password":"%s"}
+                    """.formatted(i, PASSWORD);
+            concurrency.acquire();
+            requests.add(clients.submit(() -> {
+                try {
+                    HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(loginUri)
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        succeeded.incrementAndGet();
+                    }
+                } finally {
+                    concurrency.release();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+        return succeeded.get();
+    }
+
+    @Test
+    @DisplayName("Load: virtual request threads should sustain more logins per second than platform threads")
+    void login_withVirtualThreads_shouldOutperformPlatformThreadsOnBlockingWorkload() throws Exception {
+        double platformThroughput = measureLoginsPerSecond(false);
+        double virtualThroughput = measureLoginsPerSecond(true);
+
+        System.out.printf("""
+                        Login throughput, %d logins, %d concurrent clients, %d ms rider-service latency
+                          platform threads (tomcat max %d): %8.1f logins/s
+                          virtual threads:                  %8.1f logins/s (%.1fx)
+                        """,
+                TOTAL_LOGINS, CONCURRENT_CLIENTS, RIDER_SERVICE_LATENCY.toMillis(), TOMCAT_THREADS,
+                platformThroughput, virtualThroughput, virtualThroughput / platformThroughput);
+
+        assertThat(virtualThroughput).isGreaterThan(platformThroughput);
+    }
+}
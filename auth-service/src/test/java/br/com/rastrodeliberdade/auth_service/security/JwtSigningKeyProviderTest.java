@@ -0,0 +1,172 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtSigningKeyProviderTest {
+
+    private static final String FIRST_SECRET = "primeira-chave-secreta-super-longa-para-testes-de-hs512-nao-usar";
+    private static final String SECOND_SECRET = "segunda-chave-secreta-super-longa-para-testes-de-hs512-nao-usar!";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should sign tokens that verify with the configured secret, escaping the subject")
+    void currentSigner_shouldSignVerifiableTokens() {
+        JwtSigningKeyProvider provider = new JwtSigningKeyProvider(FIRST_SECRET, null, Duration.ofSeconds(30), System::nanoTime);
+
+        long issuedAt = Instant.now().getEpochSecond();
+
+        String token = provider.currentSigner().sign("rider\"quoted\"@test.com", issuedAt, issuedAt + 60);
+
+        Jws<Claims> jws = parse(token, provider.currentSigner().verificationKey());
+        assertThat(jws.getHeader().getKeyId()).isEqualTo(provider.currentSigner().keyId());
+        assertThat(jws.getBody().getSubject()).isEqualTo("rider\"quoted\"@test.com");
+        assertThat(jws.getBody().getIssuedAt()).isEqualTo(Date.from(Instant.ofEpochSecond(issuedAt)));
+        assertThat(jws.getBody().getExpiration()).isEqualTo(Date.from(Instant.ofEpochSecond(issuedAt + 60)));
+    }
+
+    @Test
+    @DisplayName("Should fail at startup when the secret is too short for HS512")
+    void constructor_withShortSecret_shouldThrow() {
+        assertThatThrownBy(() -> new JwtSigningKeyProvider("curta", null, Duration.ofSeconds(30), System::nanoTime))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least 64 bytes");
+    }
+
+    @Test
+    @DisplayName("Should switch to the new key and key id on rotation")
+    void rotate_shouldSignWithNewKey() {
+        JwtSigningKeyProvider provider = new JwtSigningKeyProvider(FIRST_SECRET, null, Duration.ofSeconds(30), System::nanoTime);
+        String firstKeyId = provider.currentSigner().keyId();
+
+        provider.rotate(HmacJwtSigner.fromSecret(SECOND_SECRET));
+
+        JwtSigner rotated = provider.currentSigner();
+        long issuedAt = Instant.now().getEpochSecond();
+        assertThat(rotated.keyId()).isNotEqualTo(firstKeyId);
+        assertThat(parse(rotated.sign("rider@test.com", issuedAt, issuedAt + 60), rotated.verificationKey()).getBody().getSubject())
+                .isEqualTo("rider@test.com");
+    }
+
+    @Test
+    @DisplayName("Should reload the secret file once the reload interval elapsed and the file changed")
+    void currentSigner_withChangedSecretFile_shouldReloadAfterInterval() throws Exception {
+        Path secretFile = Files.writeString(tempDir.resolve("jwt.secret"), FIRST_SECRET + "\n");
+        AtomicLong nanoTime = new AtomicLong();
+        JwtSigningKeyProvider provider = new JwtSigningKeyProvider(null, secretFile, Duration.ofSeconds(30), nanoTime::get);
+        String firstKeyId = provider.currentSigner().keyId();
+
+        Files.writeString(secretFile, SECOND_SECRET);
+        Files.setLastModifiedTime(secretFile, FileTime.from(Instant.now().plusSeconds(5)));
+        assertThat(provider.currentSigner().keyId()).isEqualTo(firstKeyId);
+
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(provider.currentSigner().keyId())
+                .isEqualTo(HmacJwtSigner.fromSecret(SECOND_SECRET).keyId())
+                .isNotEqualTo(firstKeyId);
+    }
+
+    @Test
+    @DisplayName("Should keep the current key when the reloaded secret is invalid")
+    void reloadIfChanged_withInvalidSecret_shouldKeepCurrentKey() throws Exception {
+        Path secretFile = Files.writeString(tempDir.resolve("jwt.secret"), FIRST_SECRET);
+        JwtSigningKeyProvider provider = new JwtSigningKeyProvider(null, secretFile, Duration.ofSeconds(30), System::nanoTime);
+        String firstKeyId = provider.currentSigner().keyId();
+
+        Files.writeString(secretFile, "curta");
+        Files.setLastModifiedTime(secretFile, FileTime.from(Instant.now().plusSeconds(5)));
+        provider.reloadIfChanged();
+
+        assertThat(provider.currentSigner().keyId()).isEqualTo(firstKeyId);
+    }
+
+    @Test
+    @DisplayName("Should sign ES256 tokens with an ephemeral key and publish only its public JWK")
+    void currentSigner_withEs256AndNoKeyStore_shouldUseEphemeralKey() {
+        JwtSigningKeyProvider provider = new JwtSigningKeyProvider("ES256", null, null, null, Duration.ofSeconds(30), System::nanoTime);
+        JwtSigner signer = provider.currentSigner();
+        long issuedAt = Instant.now().getEpochSecond();
+
+        Jws<Claims> jws = parse(signer.sign("rider@test.com", issuedAt, issuedAt + 60), signer.verificationKey());
+
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("ES256");
+        assertThat(jws.getHeader().getKeyId()).isEqualTo(signer.keyId());
+        assertThat(provider.verificationKey(signer.keyId())).isEqualTo(signer.verificationKey());
+        assertThat(provider.verificationKey(null)).isNull();
+        assertThat(provider.publicJwks()).singleElement()
+                .satisfies(jwk -> assertThat(jwk)
+                        .containsEntry("kty", "EC")
+                        .containsEntry("crv", "P-256")
+                        .containsEntry("kid", signer.keyId())
+                        .doesNotContainKey("d"));
+    }
+
+    @Test
+    @DisplayName("Should reload an RS256 key store and keep publishing the previous key")
+    void reloadIfChanged_withRotatedKeyStore_shouldPublishCurrentAndPreviousKeys() throws Exception {
+        Path keyStore = tempDir.resolve("jwt.p12");
+        generateKeyStore(keyStore, "first");
+        JwtSigningKeyProvider provider = new JwtSigningKeyProvider("RS256", null, keyStore, "changeit", Duration.ofSeconds(30), System::nanoTime);
+        JwtSigner first = provider.currentSigner();
+
+        Files.delete(keyStore);
+        generateKeyStore(keyStore, "second");
+        Files.setLastModifiedTime(keyStore, FileTime.from(Instant.now().plusSeconds(5)));
+        provider.reloadIfChanged();
+
+        JwtSigner second = provider.currentSigner();
+        long issuedAt = Instant.now().getEpochSecond();
+        assertThat(second.keyId()).isNotEqualTo(first.keyId());
+        assertThat(parse(second.sign("rider@test.com", issuedAt, issuedAt + 60), provider.verificationKey(second.keyId()))
+                .getHeader().getAlgorithm()).isEqualTo("RS256");
+        assertThat(provider.verificationKey(first.keyId())).isEqualTo(first.verificationKey());
+        assertThat(provider.publicJwks()).extracting(jwk -> jwk.get("kid"))
+                .containsExactly(second.keyId(), first.keyId());
+    }
+
+    @Test
+    @DisplayName("Should not publish symmetric keys")
+    void publicJwks_withHs512_shouldBeEmpty() {
+        JwtSigningKeyProvider provider = new JwtSigningKeyProvider(FIRST_SECRET, null, Duration.ofSeconds(30), System::nanoTime);
+
+        assertThat(provider.publicJwks()).isEmpty();
+    }
+
+    private static void generateKeyStore(Path keyStore, String alias) throws Exception {
+        Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-keyalg", "RSA", "-keysize", "2048", "-alias", alias,
+                "-dname", "CN=auth-service", "-validity", "1",
+                "-storetype", "PKCS12", "-keystore", keyStore.toString(), "-storepass", "changeit")
+                .redirectErrorStream(true)
+                .start();
+        keytool.getInputStream().transferTo(OutputStream.nullOutputStream());
+        assertThat(keytool.waitFor()).isZero();
+    }
+
+    private static Jws<Claims> parse(String token, Key key) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token);
+    }
+}
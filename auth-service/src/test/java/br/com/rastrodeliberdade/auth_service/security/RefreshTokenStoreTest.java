@@ -0,0 +1,68 @@
+package br.com.rastrodeliberdade.auth_service.security;
+
+import br.com.rastrodeliberdade.auth_token_verifier.InvalidTokenException;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshTokenStoreTest {
+
+    private final AtomicLong fakeTime = new AtomicLong();
+
+    private RefreshTokenStore refreshTokenStore;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenStore = new RefreshTokenStore(Duration.ofDays(7), 100, fakeTime::get, Scheduler.disabledScheduler());
+    }
+
+    @Test
+    @DisplayName("Should return the subject of a refresh token only once")
+    void consume_shouldBeSingleUse() {
+        String token = refreshTokenStore.issue("rider@test.com");
+
+        assertThat(refreshTokenStore.consume(token)).isEqualTo("rider@test.com");
+        assertThatThrownBy(() -> refreshTokenStore.consume(token))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Refresh token inválido ou expirado");
+    }
+
+    @Test
+    @DisplayName("Should reject expired refresh tokens and sweep them from the store")
+    void consume_afterExpiration_shouldThrow() {
+        String token = refreshTokenStore.issue("rider@test.com");
+        fakeTime.addAndGet(TimeUnit.DAYS.toNanos(7) + 1);
+
+        assertThatThrownBy(() -> refreshTokenStore.consume(token)).isInstanceOf(InvalidTokenException.class);
+        assertThat(refreshTokenStore.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should revoke every refresh token of the given subjects")
+    void revoke_shouldRemoveOnlyTheGivenSubjects() {
+        String first = refreshTokenStore.issue("rider@test.com");
+        String second = refreshTokenStore.issue("rider@test.com");
+        String other = refreshTokenStore.issue("other@test.com");
+
+        refreshTokenStore.revoke(List.of("rider@test.com"));
+
+        assertThatThrownBy(() -> refreshTokenStore.consume(first)).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> refreshTokenStore.consume(second)).isInstanceOf(InvalidTokenException.class);
+        assertThat(refreshTokenStore.consume(other)).isEqualTo("other@test.com");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown refresh tokens")
+    void consume_withUnknownToken_shouldThrow() {
+        assertThatThrownBy(() -> refreshTokenStore.consume("forged-token")).isInstanceOf(InvalidTokenException.class);
+    }
+}
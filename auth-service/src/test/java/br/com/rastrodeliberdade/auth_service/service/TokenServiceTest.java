@@ -1,6 +1,9 @@
 package br.com.rastrodeliberdade.auth_service.service;
 
+import br.com.rastrodeliberdade.auth_service.security.JwtSigningKeyProvider;
+import br.com.rastrodeliberdade.auth_token_verifier.TokenVerifier;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +37,12 @@ public class TokenServiceTest {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private JwtSigningKeyProvider signingKeyProvider;
+
+    @Autowired
+    private TokenVerifier tokenVerifier;
+
     @Value("${jwt.secret}")
     private String testJwtSecret;
 
@@ -69,11 +78,36 @@ public class TokenServiceTest {
         assertThat(claims.getSubject()).isEqualTo(userEmail);
     }
 
+    @Test
+    @DisplayName("Should issue tokens with the key id header and an expiration of jwt.expiration after issuance")
+    void generateToken_withValidAuthentication_shouldSetKeyIdAndExpiration() {
+        String token = tokenService.generateToken(authentication);
+
+        SecretKey key = Keys.hmacShaKeyFor(testJwtSecret.getBytes(StandardCharsets.UTF_8));
+        Jws<Claims> jws = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token);
+
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("HS512");
+        assertThat(jws.getHeader().getKeyId()).isEqualTo(signingKeyProvider.currentSigner().keyId());
+        assertThat(jws.getBody().getExpiration().getTime() - jws.getBody().getIssuedAt().getTime())
+                .isEqualTo(60000);
+    }
+
+    @Test
+    @DisplayName("Should issue tokens that the auth-token-verifier module accepts")
+    void generateToken_withValidAuthentication_shouldBeAcceptedByTokenVerifier() {
+        String token = tokenService.generateToken(authentication);
+
+        assertThat(tokenVerifier.verify(token).subject()).isEqualTo(userEmail);
+    }
+
     @Test
     @DisplayName("Should throw NullPointerException when authentication is null")
     void generateToken_withNullAuthentication_shouldThrowNullPointerException() {
         assertThrows(NullPointerException.class, () -> {
-            tokenService.generateToken(null);
+            tokenService.generateToken((Authentication) null);
         });
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package br.com.rastrodeliberdade.auth_service.service;
 
 import br.com.rastrodeliberdade.auth_service.client.RiderServiceClient;
 import br.com.rastrodeliberdade.auth_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.service_commons.security.PasswordEncoders;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,14 +10,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -69,4 +79,45 @@ class UserDetailsServiceImplTest {
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessage("User not found with email: " + userEmail);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should write the upgraded hash back to rider-service and return the user with it")
+    void updatePassword_shouldWriteBackAndReturnUpgradedUser() {
+        UserDetails user = User.withUsername(userEmail).password("legacy-hash").build();
+        when(riderServiceClient.updatePasswordHash(userEmail, "legacy-hash", "{bcrypt}new-hash")).thenReturn(true);
+
+        UserDetails upgradedUser = userDetailService.updatePassword(user, "{bcrypt}new-hash");
+
+        assertThat(upgradedUser.getUsername()).isEqualTo(userEmail);
+        assertThat(upgradedUser.getPassword()).isEqualTo("{bcrypt}new-hash");
+    }
+
+    @Test
+    @DisplayName("Should not fail the login when the upgraded hash cannot be written back")
+    void updatePassword_whenRiderServiceFails_shouldStillReturnUser() {
+        UserDetails user = User.withUsername(userEmail).password("legacy-hash").build();
+        when(riderServiceClient.updatePasswordHash(userEmail, "legacy-hash", "{bcrypt}new-hash"))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        UserDetails upgradedUser = userDetailService.updatePassword(user, "{bcrypt}new-hash");
+
+        assertThat(upgradedUser.getPassword()).isEqualTo("{bcrypt}new-hash");
+    }
+
+    @Test
+    @DisplayName("Should rehash an outdated hash on successful login through the authentication provider")
+    void authenticate_whenStoredHashIsOutdated_shouldRehashOnLogin() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        when(riderServiceClient.findByEmail(userEmail))
+                .thenReturn(Optional.of(new RiderAuthDto(UUID.randomUUID(), userEmail, legacyHash)));
+        when(riderServiceClient.updatePasswordHash(eq(userEmail), eq(legacyHash), anyString())).thenReturn(true);
+
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(userDetailService);
+        authenticationProvider.setPasswordEncoder(PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 5, 1024, 1, 1));
+        authenticationProvider.setUserDetailsPasswordService(userDetailService);
+
+        authenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(userEmail, "password123"));
+
+        verify(riderServiceClient).updatePasswordHash(eq(userEmail), eq(legacyHash), startsWith("{bcrypt}$2a$05$"));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Clock;
+import java.time.Duration;
+
+public class CachingTokenVerifier implements TokenVerifier, MeterBinder {
+
+    public static final String CACHE_NAME = "token-claims";
+
+    private final TokenVerifier delegate;
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> cache;
+
+    public CachingTokenVerifier(TokenVerifier delegate, long maximumSize, Clock clock) {
+        this(delegate, maximumSize, clock, Ticker.systemTicker());
+    }
+
+    CachingTokenVerifier(TokenVerifier delegate, long maximumSize, Clock clock, Ticker ticker) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry(clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = cache.getIfPresent(token);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            return cached;
+        }
+
+        VerifiedToken verified = delegate.verify(token);
+        cache.put(token, verified);
+        return verified;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private record UntilTokenExpiry(Clock clock) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verifiedToken, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), verifiedToken.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
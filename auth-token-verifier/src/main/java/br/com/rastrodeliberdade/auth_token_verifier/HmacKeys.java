@@ -0,0 +1,48 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+
+public final class HmacKeys {
+    public static final String ALGORITHM = "HS512";
+    public static final String MAC_ALGORITHM = "HmacSHA512";
+    public static final int MINIMUM_SECRET_LENGTH = 64;
+
+    private HmacKeys() {
+    }
+
+    public static SecretKey fromSecret(String secret) {
+        return new SecretKeySpec(secretBytes(secret), MAC_ALGORITHM);
+    }
+
+    public static Function<String, Key> keyLookup(String secret) {
+        Key key = fromSecret(secret);
+        String keyId = keyId(secret);
+        return kid -> kid == null || kid.equals(keyId) ? key : null;
+    }
+
+    public static String keyId(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secretBytes(secret));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MINIMUM_SECRET_LENGTH) {
+            throw new IllegalArgumentException("JWT secret must be at least " + MINIMUM_SECRET_LENGTH
+                    + " bytes long for " + ALGORITHM + ", got " + secretBytes.length);
+        }
+        return secretBytes;
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+public class InternalServiceAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String PRINCIPAL = "internal-service";
+
+    private final InternalServiceToken internalServiceToken;
+    private final AuthenticationEntryPoint authenticationEntryPoint;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    public InternalServiceAuthenticationFilter(InternalServiceToken internalServiceToken,
+                                               AuthenticationEntryPoint authenticationEntryPoint) {
+        this.internalServiceToken = internalServiceToken;
+        this.authenticationEntryPoint = authenticationEntryPoint;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String presentedToken = request.getHeader(InternalServiceToken.HEADER);
+        if (presentedToken == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!internalServiceToken.matches(presentedToken)) {
+            securityContextHolderStrategy.clearContext();
+            authenticationEntryPoint.commence(request, response,
+                    new BadCredentialsException("Invalid internal service token"));
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                PRINCIPAL, null, List.of(new SimpleGrantedAuthority(InternalServiceToken.AUTHORITY)));
+
+        SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+        context.setAuthentication(authentication);
+        securityContextHolderStrategy.setContext(context);
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// Shared secret auth-service and rider-service present to each other on their /internal endpoints. Rider tokens
+// are never accepted there: those endpoints hand out password hashes and evict caches.
+public final class InternalServiceToken {
+    public static final String HEADER = "X-Internal-Service-Token";
+    public static final String AUTHORITY = "ROLE_INTERNAL_SERVICE";
+    public static final int MINIMUM_LENGTH = 32;
+
+    private final String token;
+    private final byte[] tokenBytes;
+
+    public InternalServiceToken(String token) {
+        if (token == null || token.getBytes(StandardCharsets.UTF_8).length < MINIMUM_LENGTH) {
+            throw new IllegalArgumentException("Internal service token must be at least " + MINIMUM_LENGTH
+                    + " bytes long");
+        }
+        this.token = token;
+        this.tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean matches(String presentedToken) {
+        return presentedToken != null
+                && MessageDigest.isEqual(tokenBytes, presentedToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ClientHttpRequestInterceptor clientInterceptor() {
+        return (request, body, execution) -> {
+            request.getHeaders().set(HEADER, token);
+            return execution.execute(request, body);
+        };
+    }
+}
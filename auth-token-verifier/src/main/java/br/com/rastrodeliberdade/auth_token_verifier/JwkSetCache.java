@@ -0,0 +1,154 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class JwkSetCache implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(JwkSetCache.class);
+
+    private final URI jwksUri;
+    private final long minRefreshIntervalNanos;
+    private final Duration unknownKeyIdWait;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService refresher;
+    private final AtomicReference<CompletableFuture<Void>> inFlightRefresh = new AtomicReference<>();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshStarted;
+
+    public JwkSetCache(URI jwksUri, Duration refreshInterval, Duration minRefreshInterval, Duration unknownKeyIdWait) {
+        this.jwksUri = jwksUri;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.unknownKeyIdWait = unknownKeyIdWait;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(unknownKeyIdWait)
+                .build();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("jwks-refresh").daemon(true).factory());
+        this.lastRefreshStarted = System.nanoTime() - minRefreshIntervalNanos;
+
+        requestRefresh();
+        refresher.scheduleWithFixedDelay(this::requestRefresh,
+                refreshInterval.toNanos(), refreshInterval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public Key lookup(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+        PublicKey key = keys.get(keyId);
+        if (key != null) {
+            return key;
+        }
+
+        // Unknown kid: the issuer probably rotated. Wait briefly for a coalesced, rate-limited refresh
+        // instead of letting every request with the new kid hit the JWKS endpoint.
+        CompletableFuture<Void> refresh = requestRefresh();
+        if (refresh != null) {
+            try {
+                refresh.get(unknownKeyIdWait.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("JWKS refresh for unknown kid {} did not complete: {}", keyId, e.toString());
+            }
+        }
+        return keys.get(keyId);
+    }
+
+    private CompletableFuture<Void> requestRefresh() {
+        CompletableFuture<Void> running = inFlightRefresh.get();
+        if (running != null) {
+            return running;
+        }
+        long now = System.nanoTime();
+        if (now - lastRefreshStarted < minRefreshIntervalNanos) {
+            return null;
+        }
+
+        CompletableFuture<Void> refresh = new CompletableFuture<>();
+        if (!inFlightRefresh.compareAndSet(null, refresh)) {
+            return inFlightRefresh.get();
+        }
+        lastRefreshStarted = now;
+        try {
+            refresher.execute(() -> {
+                Throwable failure = null;
+                try {
+                    fetch();
+                } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                    log.warn("Could not refresh JWKS from {}, keeping {} known keys: {}", jwksUri, keys.size(), e.toString());
+                    failure = e;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure = e;
+                }
+                inFlightRefresh.compareAndSet(refresh, null);
+                if (failure == null) {
+                    refresh.complete(null);
+                } else {
+                    refresh.completeExceptionally(failure);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightRefresh.compareAndSet(refresh, null);
+            refresh.completeExceptionally(e);
+        }
+        return refresh;
+    }
+
+    private void fetch() throws IOException, InterruptedException, GeneralSecurityException {
+        HttpResponse<byte[]> response = httpClient.send(
+                HttpRequest.newBuilder(jwksUri).timeout(unknownKeyIdWait).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("JWKS endpoint answered " + response.statusCode());
+        }
+
+        Map<String, PublicKey> refreshed = new HashMap<>();
+        for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+            String keyId = jwk.path("kid").asText(null);
+            String use = jwk.path("use").asText("sig");
+            if (keyId == null || !use.equals("sig")) {
+                continue;
+            }
+            try {
+                refreshed.put(keyId, Jwks.parse(jwk));
+            } catch (GeneralSecurityException e) {
+                log.warn("Skipping JWK {} from {}: {}", keyId, jwksUri, e.getMessage());
+            }
+        }
+        keys = Map.copyOf(refreshed);
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class Jwks {
+    public static final String RS256 = "RS256";
+    public static final String ES256 = "ES256";
+
+    private static final String P_256 = "P-256";
+    private static final int P_256_COORDINATE_LENGTH = 32;
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private Jwks() {
+    }
+
+    public static Map<String, Object> toJwk(PublicKey publicKey, String keyId, String algorithm) {
+        Map<String, Object> jwk = new LinkedHashMap<>(requiredMembers(publicKey));
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm);
+        return jwk;
+    }
+
+    // RFC 7638 thumbprint: SHA-256 over the required members in lexicographic order, without whitespace.
+    public static String thumbprint(PublicKey publicKey) {
+        StringBuilder canonical = new StringBuilder("{");
+        requiredMembers(publicKey).forEach((name, value) -> {
+            if (canonical.length() > 1) {
+                canonical.append(',');
+            }
+            canonical.append('"').append(name).append("\":\"").append(value).append('"');
+        });
+        canonical.append('}');
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return BASE64_URL.encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static PublicKey parse(JsonNode jwk) throws GeneralSecurityException {
+        String keyType = jwk.path("kty").asText();
+        return switch (keyType) {
+            case "RSA" -> KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    unsigned(jwk.path("n").asText()), unsigned(jwk.path("e").asText())));
+            case "EC" -> {
+                if (!P_256.equals(jwk.path("crv").asText())) {
+                    throw new GeneralSecurityException("Unsupported curve: " + jwk.path("crv").asText());
+                }
+                ECPoint point = new ECPoint(unsigned(jwk.path("x").asText()), unsigned(jwk.path("y").asText()));
+                yield KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, p256()));
+            }
+            default -> throw new GeneralSecurityException("Unsupported key type: " + keyType);
+        };
+    }
+
+    private static Map<String, String> requiredMembers(PublicKey publicKey) {
+        Map<String, String> members = new LinkedHashMap<>();
+        if (publicKey instanceof RSAPublicKey rsa) {
+            members.put("e", encode(rsa.getPublicExponent(), 0));
+            members.put("kty", "RSA");
+            members.put("n", encode(rsa.getModulus(), 0));
+        } else if (publicKey instanceof ECPublicKey ec) {
+            members.put("crv", P_256);
+            members.put("kty", "EC");
+            members.put("x", encode(ec.getW().getAffineX(), P_256_COORDINATE_LENGTH));
+            members.put("y", encode(ec.getW().getAffineY(), P_256_COORDINATE_LENGTH));
+        } else {
+            throw new IllegalArgumentException("Unsupported public key: " + publicKey.getAlgorithm());
+        }
+        return members;
+    }
+
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    private static BigInteger unsigned(String base64Url) {
+        return new BigInteger(1, BASE64_URL_DECODER.decode(base64Url));
+    }
+
+    private static ECParameterSpec p256() throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        return parameters.getParameterSpec(ECParameterSpec.class);
+    }
+}
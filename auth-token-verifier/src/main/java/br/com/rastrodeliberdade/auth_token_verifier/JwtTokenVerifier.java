@@ -0,0 +1,58 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.security.Key;
+import java.time.Clock;
+import java.util.Date;
+import java.util.function.Function;
+
+public class JwtTokenVerifier implements TokenVerifier {
+
+    private final JwtParser parser;
+
+    public JwtTokenVerifier(Function<String, Key> keyLookup, Clock clock) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keyLookup.apply(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+    }
+
+    public static JwtTokenVerifier forSecret(String secret, Clock clock) {
+        return new JwtTokenVerifier(HmacKeys.keyLookup(secret), clock);
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid token: " + e.getMessage(), e);
+        }
+
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new InvalidTokenException("Invalid token: subject and expiration are required");
+        }
+
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant());
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+public class TokenAuthenticationEntryPoint implements AuthenticationEntryPoint {
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) {
+        String challenge = authException instanceof InvalidTokenException
+                ? "Bearer error=\"invalid_token\""
+                : "Bearer";
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, challenge);
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+    }
+}
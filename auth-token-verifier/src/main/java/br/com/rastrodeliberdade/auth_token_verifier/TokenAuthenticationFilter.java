@@ -0,0 +1,60 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenVerifier tokenVerifier;
+    private final AuthenticationEntryPoint authenticationEntryPoint;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    public TokenAuthenticationFilter(TokenVerifier tokenVerifier, AuthenticationEntryPoint authenticationEntryPoint) {
+        this.tokenVerifier = tokenVerifier;
+        this.authenticationEntryPoint = authenticationEntryPoint;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = tokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+        } catch (InvalidTokenException e) {
+            securityContextHolderStrategy.clearContext();
+            authenticationEntryPoint.commence(request, response, e);
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(verifiedToken.subject(), null, List.of());
+        authentication.setDetails(verifiedToken);
+
+        SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+        context.setAuthentication(authentication);
+        securityContextHolderStrategy.setContext(context);
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+public interface TokenVerifier {
+
+    VerifiedToken verify(String token);
+}
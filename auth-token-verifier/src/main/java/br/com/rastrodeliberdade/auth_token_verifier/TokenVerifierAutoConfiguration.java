@@ -0,0 +1,45 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.net.URI;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+@AutoConfiguration
+public class TokenVerifierAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnExpression("'${jwt.jwks-uri:}' != ''")
+    public JwkSetCache jwkSetCache(@Value("${jwt.jwks-uri}") URI jwksUri,
+                                   @Value("${jwt.jwks.refresh-interval:5m}") Duration refreshInterval,
+                                   @Value("${jwt.jwks.min-refresh-interval:10s}") Duration minRefreshInterval,
+                                   @Value("${jwt.jwks.unknown-kid-wait:2s}") Duration unknownKeyIdWait) {
+        return new JwkSetCache(jwksUri, refreshInterval, minRefreshInterval, unknownKeyIdWait);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(TokenVerifier.class)
+    @ConditionalOnExpression("'${jwt.jwks-uri:}' != '' or '${jwt.secret:}' != ''")
+    public CachingTokenVerifier tokenVerifier(@Value("${jwt.secret:}") String secret,
+                                              ObjectProvider<JwkSetCache> jwkSetCache,
+                                              @Value("${jwt.verifier.cache.maximum-size:10000}") long maximumSize) {
+        Function<String, Key> hmacKeys = secret.isEmpty() ? kid -> null : HmacKeys.keyLookup(secret);
+        JwkSetCache jwks = jwkSetCache.getIfAvailable();
+        Function<String, Key> keyLookup = jwks == null ? hmacKeys : kid -> {
+            Key key = hmacKeys.apply(kid);
+            return key != null ? key : jwks.lookup(kid);
+        };
+
+        Clock clock = Clock.systemUTC();
+        return new CachingTokenVerifier(new JwtTokenVerifier(keyLookup, clock), maximumSize, clock);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import java.time.Instant;
+
+public record VerifiedToken(
+        String subject,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
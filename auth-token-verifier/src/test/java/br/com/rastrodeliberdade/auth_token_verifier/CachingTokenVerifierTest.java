@@ -0,0 +1,87 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingTokenVerifierTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final AtomicLong elapsedNanos = new AtomicLong();
+    private final Ticker ticker = elapsedNanos::get;
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return START.plusNanos(elapsedNanos.get());
+        }
+    };
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeated requests from the cache")
+    void verify_withRepeatedToken_shouldHitCache() {
+        CachingTokenVerifier verifier = new CachingTokenVerifier(countingVerifier(Duration.ofMinutes(5)), 100, clock, ticker);
+
+        VerifiedToken first = verifier.verify("token");
+        VerifiedToken second = verifier.verify("token");
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the cached claims when the token expires")
+    void verify_afterTokenExpiry_shouldVerifyAgain() {
+        CachingTokenVerifier verifier = new CachingTokenVerifier(countingVerifier(Duration.ofMinutes(5)), 100, clock, ticker);
+        verifier.verify("token");
+
+        elapsedNanos.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        assertThat(verifier.estimatedSize()).isZero();
+        verifier.verify("token");
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache rejected tokens")
+    void verify_withInvalidToken_shouldNotCache() {
+        CachingTokenVerifier verifier = new CachingTokenVerifier(token -> {
+            verifications.incrementAndGet();
+            throw new InvalidTokenException("Invalid token");
+        }, 100, clock, ticker);
+
+        assertThatThrownBy(() -> verifier.verify("token")).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> verifier.verify("token")).isInstanceOf(InvalidTokenException.class);
+        assertThat(verifications).hasValue(2);
+        assertThat(verifier.estimatedSize()).isZero();
+    }
+
+    private TokenVerifier countingVerifier(Duration lifetime) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken("rider@test.com", clock.instant(), clock.instant().plus(lifetime));
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InternalServiceAuthenticationFilterTest {
+
+    private static final String TOKEN = "token-interno-de-testes-com-pelo-menos-32-bytes";
+
+    private final InternalServiceAuthenticationFilter filter = new InternalServiceAuthenticationFilter(
+            new InternalServiceToken(TOKEN), new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate the request as the internal service when the token matches")
+    void doFilter_withValidToken_shouldAuthenticateAsInternalService() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(InternalServiceToken.HEADER, TOKEN);
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                authentication.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertThat(authentication.get().isAuthenticated()).isTrue();
+        assertThat(authentication.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(InternalServiceToken.AUTHORITY);
+    }
+
+    @Test
+    @DisplayName("Should answer 401 and stop the chain when the token does not match")
+    void doFilter_withWrongToken_shouldRejectRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(InternalServiceToken.HEADER, TOKEN + "-forged");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should pass requests without the token through unauthenticated")
+    void doFilter_withoutToken_shouldContinueUnauthenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse a token shorter than the minimum length")
+    void newInternalServiceToken_withShortToken_shouldThrow() {
+        assertThatThrownBy(() -> new InternalServiceToken("short"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwkSetCacheTest {
+
+    private static final KeyPair EC_KEYS = generate("EC");
+    private static final KeyPair RSA_KEYS = generate("RSA");
+    private static final KeyPair ROTATED_KEYS = generate("EC");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile List<Map<String, Object>> publishedKeys;
+    private HttpServer server;
+    private JwkSetCache cache;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        publishedKeys = List.of(
+                Jwks.toJwk(EC_KEYS.getPublic(), "ec-1", Jwks.ES256),
+                Jwks.toJwk(RSA_KEYS.getPublic(), "rsa-1", Jwks.RS256));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("keys", publishedKeys));
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (cache != null) {
+            cache.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should verify ES256 and RS256 tokens with keys from the JWKS endpoint")
+    void lookup_withPublishedKeys_shouldVerifyAsymmetricTokens() {
+        cache = newCache(Duration.ZERO);
+        JwtTokenVerifier verifier = new JwtTokenVerifier(cache::lookup, Clock.systemUTC());
+
+        assertThat(verifier.verify(sign(EC_KEYS, "ec-1", SignatureAlgorithm.ES256)).subject()).isEqualTo("rider@test.com");
+        assertThat(verifier.verify(sign(RSA_KEYS, "rsa-1", SignatureAlgorithm.RS256)).subject()).isEqualTo("rider@test.com");
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should refresh the key set when a token carries an unknown kid")
+    void lookup_withRotatedKey_shouldRefresh() {
+        cache = newCache(Duration.ZERO);
+        assertThat(cache.lookup("ec-1")).isEqualTo(EC_KEYS.getPublic());
+
+        publishedKeys = List.of(Jwks.toJwk(ROTATED_KEYS.getPublic(), "ec-2", Jwks.ES256));
+
+        assertThat(cache.lookup("ec-2")).isEqualTo(ROTATED_KEYS.getPublic());
+        assertThat(cache.lookup("ec-1")).isNull();
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should not hit the JWKS endpoint again for unknown kids within the minimum refresh interval")
+    void lookup_withUnknownKeyIds_shouldBeRateLimited() {
+        cache = newCache(Duration.ofMinutes(1));
+        assertThat(cache.lookup("ec-1")).isNotNull();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.lookup("forged-" + i)).isNull();
+        }
+
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the known keys when the JWKS endpoint fails")
+    void lookup_whenRefreshFails_shouldKeepKnownKeys() {
+        cache = newCache(Duration.ZERO);
+        assertThat(cache.lookup("rsa-1")).isNotNull();
+
+        status = 500;
+
+        assertThat(cache.lookup("unknown")).isNull();
+        assertThat(cache.lookup("rsa-1")).isEqualTo(RSA_KEYS.getPublic());
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject HMAC tokens that reuse the kid of a published public key")
+    void verify_withAlgorithmConfusion_shouldThrow() {
+        cache = newCache(Duration.ZERO);
+        JwtTokenVerifier verifier = new JwtTokenVerifier(cache::lookup, Clock.systemUTC());
+        String forged = Jwts.builder()
+                .setHeaderParam("kid", "rsa-1")
+                .setSubject("rider@test.com")
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(HmacKeys.fromSecret("x".repeat(HmacKeys.MINIMUM_SECRET_LENGTH)), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThatThrownBy(() -> verifier.verify(forged)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    private JwkSetCache newCache(Duration minRefreshInterval) {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+        return new JwkSetCache(uri, Duration.ofHours(1), minRefreshInterval, Duration.ofSeconds(2));
+    }
+
+    private static String sign(KeyPair keyPair, String keyId, SignatureAlgorithm algorithm) {
+        return Jwts.builder()
+                .setHeaderParam("kid", keyId)
+                .setSubject("rider@test.com")
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(keyPair.getPrivate(), algorithm)
+                .compact();
+    }
+
+    private static KeyPair generate(String algorithm) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+            if (algorithm.equals("EC")) {
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                generator.initialize(2048);
+            }
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
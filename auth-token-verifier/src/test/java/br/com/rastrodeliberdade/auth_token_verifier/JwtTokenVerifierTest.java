@@ -0,0 +1,80 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "minha-chave-secreta-super-longa-para-testes-de-hs512-nao-usar-em-producao";
+    private static final String OTHER_SECRET = "outra-chave-secreta-super-longa-para-testes-de-hs512-nao-usar-em-producao";
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final JwtTokenVerifier verifier = JwtTokenVerifier.forSecret(SECRET, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("Should return the subject and timestamps of a valid token")
+    void verify_withValidToken_shouldReturnVerifiedToken() {
+        String token = sign(SECRET, HmacKeys.keyId(SECRET), NOW.plusSeconds(60));
+
+        VerifiedToken verifiedToken = verifier.verify(token);
+
+        assertThat(verifiedToken).isEqualTo(new VerifiedToken("rider@test.com", NOW, NOW.plusSeconds(60)));
+    }
+
+    @Test
+    @DisplayName("Should accept tokens issued before key ids were added")
+    void verify_withoutKeyId_shouldUseConfiguredKey() {
+        String token = sign(SECRET, null, NOW.plusSeconds(60));
+
+        assertThat(verifier.verify(token).subject()).isEqualTo("rider@test.com");
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens")
+    void verify_withExpiredToken_shouldThrow() {
+        String token = sign(SECRET, HmacKeys.keyId(SECRET), NOW.minusSeconds(1));
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with another key or with an unknown key id")
+    void verify_withWrongKey_shouldThrow() {
+        String unknownKeyId = sign(OTHER_SECRET, HmacKeys.keyId(OTHER_SECRET), NOW.plusSeconds(60));
+        String forgedKeyId = sign(OTHER_SECRET, HmacKeys.keyId(SECRET), NOW.plusSeconds(60));
+
+        assertThatThrownBy(() -> verifier.verify(unknownKeyId))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessageContaining("Unknown signing key id");
+        assertThatThrownBy(() -> verifier.verify(forgedKeyId)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void verify_withMalformedToken_shouldThrow() {
+        assertThatThrownBy(() -> verifier.verify("not-a-token")).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> verifier.verify("")).isInstanceOf(InvalidTokenException.class);
+    }
+
+    private static String sign(String secret, String keyId, Instant expiresAt) {
+        var builder = Jwts.builder()
+                .setSubject("rider@test.com")
+                .setIssuedAt(Date.from(NOW))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(HmacKeys.fromSecret(secret), SignatureAlgorithm.HS512);
+        if (keyId != null) {
+            builder.setHeaderParam("kid", keyId);
+        }
+        return builder.compact();
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.rastrodeliberdade.auth_token_verifier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenAuthenticationFilterTest {
+
+    private static final VerifiedToken VERIFIED_TOKEN =
+            new VerifiedToken("rider@test.com", Instant.now(), Instant.now().plusSeconds(60));
+
+    private final TokenAuthenticationFilter filter = new TokenAuthenticationFilter(token -> {
+        if (!token.equals("valid-token")) {
+            throw new InvalidTokenException("Invalid token");
+        }
+        return VERIFIED_TOKEN;
+    }, new TokenAuthenticationEntryPoint());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate the request as the token subject when the bearer token is valid")
+    void doFilter_withValidToken_shouldAuthenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer valid-token");
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                authentication.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertThat(authentication.get().isAuthenticated()).isTrue();
+        assertThat(authentication.get().getName()).isEqualTo("rider@test.com");
+        assertThat(authentication.get().getDetails()).isEqualTo(VERIFIED_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should answer 401 with an invalid_token challenge and stop the chain when the token is invalid")
+    void doFilter_withInvalidToken_shouldRejectRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer forged-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer error=\"invalid_token\"");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should pass requests without a bearer token through unauthenticated")
+    void doFilter_withoutToken_shouldContinueUnauthenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
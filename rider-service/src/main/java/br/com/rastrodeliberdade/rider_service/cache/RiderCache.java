@@ -0,0 +1,163 @@
+package br.com.rastrodeliberdade.rider_service.cache;
+
+import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.event.RiderChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderCredentialsChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderPasswordRehashedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+public class RiderCache {
+
+    public static final String SUMMARY_CACHE_NAME = "rider-summaries";
+    public static final String AUTH_CACHE_NAME = "rider-auth-data";
+
+    private final boolean enabled;
+    private final Cache<Key, RiderSummaryDto> summaries;
+    private final Cache<String, RiderAuthDto> authData;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public RiderCache(@Value("${rider.cache.enabled}") boolean enabled,
+                      @Value("${rider.cache.maximum-size}") long maximumSize,
+                      @Value("${rider.cache.ttl}") Duration ttl,
+                      MeterRegistry meterRegistry) {
+        this(enabled, maximumSize, ttl, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, SUMMARY_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, authData, AUTH_CACHE_NAME);
+    }
+
+    RiderCache(boolean enabled, long maximumSize, Duration ttl, Ticker ticker) {
+        this.enabled = enabled;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.authData = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<RiderSummaryDto> summaryById(UUID id, Function<UUID, Optional<RiderSummaryDto>> loader) {
+        return summary(new Key(Lookup.ID, id), () -> loader.apply(id));
+    }
+
+    public Optional<RiderSummaryDto> summaryByEmail(String email, Function<String, Optional<RiderSummaryDto>> loader) {
+        return summary(new Key(Lookup.EMAIL, email), () -> loader.apply(email));
+    }
+
+    public Optional<RiderSummaryDto> summaryByNickname(String bikerNickname,
+                                                       Function<String, Optional<RiderSummaryDto>> loader) {
+        return summary(new Key(Lookup.NICKNAME, bikerNickname), () -> loader.apply(bikerNickname));
+    }
+
+    public Optional<RiderAuthDto> authDataByEmail(String email, Function<String, Optional<RiderAuthDto>> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+
+        RiderAuthDto cached = authData.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long invalidationsBeforeLoad = invalidations.get();
+        Optional<RiderAuthDto> rider = loader.apply(email);
+        if (rider.isPresent() && isCacheable(invalidationsBeforeLoad)) {
+            authData.put(email, rider.get());
+        }
+        return rider;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRiderChanged(RiderChangedEvent event) {
+        invalidations.incrementAndGet();
+        summaries.invalidate(new Key(Lookup.ID, event.id()));
+        event.emails().forEach(email -> summaries.invalidate(new Key(Lookup.EMAIL, email)));
+        event.bikerNicknames().forEach(nickname -> summaries.invalidate(new Key(Lookup.NICKNAME, nickname)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCredentialsChanged(RiderCredentialsChangedEvent event) {
+        invalidations.incrementAndGet();
+        authData.invalidateAll(event.emails());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPasswordRehashed(RiderPasswordRehashedEvent event) {
+        invalidations.incrementAndGet();
+        authData.invalidate(event.email());
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        summaries.invalidateAll();
+        authData.invalidateAll();
+    }
+
+    // A summary is stored under all three of its keys, so a lookup by e-mail also warms the id and nickname
+    // lookups. Misses are not cached: a rider inserted later must be found without waiting for a TTL.
+    private Optional<RiderSummaryDto> summary(Key key, Supplier<Optional<RiderSummaryDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        RiderSummaryDto cached = summaries.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long invalidationsBeforeLoad = invalidations.get();
+        Optional<RiderSummaryDto> rider = loader.get();
+        if (rider.isPresent() && isCacheable(invalidationsBeforeLoad)) {
+            RiderSummaryDto summary = rider.get();
+            summaries.put(new Key(Lookup.ID, summary.id()), summary);
+            summaries.put(new Key(Lookup.EMAIL, summary.email()), summary);
+            summaries.put(new Key(Lookup.NICKNAME, summary.bikerNickname()), summary);
+        }
+        return rider;
+    }
+
+    // Evictions run after commit, so a load that overlapped one may hold the old row and is not stored.
+    // Reads made inside a read-write transaction can see that transaction's uncommitted changes, which
+    // would outlive a rollback in the cache, so only committed state read outside of one is stored.
+    private boolean isCacheable(long invalidationsBeforeLoad) {
+        boolean insideWriteTransaction = TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return !insideWriteTransaction && invalidations.get() == invalidationsBeforeLoad;
+    }
+
+    long estimatedSize() {
+        summaries.cleanUp();
+        authData.cleanUp();
+        return summaries.estimatedSize() + authData.estimatedSize();
+    }
+
+    private enum Lookup {ID, EMAIL, NICKNAME}
+
+    private record Key(Lookup lookup, Object value) {
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.rastrodeliberdade.rider_service.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+@Component
+public class AuthServiceClient {
+    private final RestTemplate restTemplate;
+    private final String authServiceBaseUrl;
+
+    public AuthServiceClient(RestTemplate restTemplate, @Value("${auth.service.url}") String authServiceBaseUrl) {
+        this.restTemplate = restTemplate;
+        this.authServiceBaseUrl = authServiceBaseUrl;
+    }
+
+    public void evictRiderAuthCache(Collection<String> emails) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(authServiceBaseUrl)
+                .path("/internal/cache/riders")
+                .queryParam("email", emails.stream()
+                        .map(email -> UriUtils.encode(email, StandardCharsets.UTF_8))
+                        .toArray())
+                .build(true)
+                .toUri();
+
+        restTemplate.delete(uri);
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.rastrodeliberdade.rider_service.config;
+
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    // The cache eviction runs on the request thread right after commit: a hung auth-service must not hold it.
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, InternalServiceToken internalServiceToken,
+                                     @Value("${auth.service.client.connect-timeout}") Duration connectTimeout,
+                                     @Value("${auth.service.client.read-timeout}") Duration readTimeout){
+        return restTemplateBuilder
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .additionalInterceptors(internalServiceToken.clientInterceptor())
+                .build();
+    }
+}
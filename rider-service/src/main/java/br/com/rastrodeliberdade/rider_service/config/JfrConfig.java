@@ -0,0 +1,27 @@
+package br.com.rastrodeliberdade.rider_service.config;
+
+import br.com.rastrodeliberdade.rider_service.jfr.RiderQueryEventInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+// RiderQuery events around the services; the jfr endpoint that records them comes from service-commons.
+@Configuration
+public class JfrConfig {
+
+    // Same placement as the tracing advisors: outside the transaction, so the event includes the commit.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor riderQueryEventAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Service.class, false), new RiderQueryEventInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+}
@@ -1,30 +1,92 @@
 package br.com.rastrodeliberdade.rider_service.config;
 
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceAuthenticationFilter;
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import br.com.rastrodeliberdade.auth_token_verifier.TokenAuthenticationEntryPoint;
+import br.com.rastrodeliberdade.auth_token_verifier.TokenAuthenticationFilter;
+import br.com.rastrodeliberdade.auth_token_verifier.TokenVerifier;
+import br.com.rastrodeliberdade.service_commons.security.BoundedPasswordEncoder;
+import br.com.rastrodeliberdade.service_commons.security.PasswordEncoders;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+
+import java.time.Duration;
 
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${password.hashing.threads}") int threads,
+                                                 @Value("${password.hashing.queue-capacity}") int queueCapacity,
+                                                 @Value("${password.hashing.bulk-submit-timeout}") Duration bulkSubmitTimeout,
+                                                 @Value("${password.hashing.algorithm}") String algorithm,
+                                                 @Value("${password.hashing.bcrypt.strength}") int bcryptStrength,
+                                                 @Value("${password.hashing.argon2.memory}") int argon2Memory,
+                                                 @Value("${password.hashing.argon2.iterations}") int argon2Iterations,
+                                                 @Value("${password.hashing.argon2.parallelism}") int argon2Parallelism,
+                                                 ObjectProvider<Tracer> tracer) {
+        int hashingThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        PasswordEncoder delegate = PasswordEncoders.delegating(
+                algorithm, bcryptStrength, argon2Memory, argon2Iterations, argon2Parallelism);
+        return new BoundedPasswordEncoder(delegate, hashingThreads, queueCapacity,
+                tracer.getIfAvailable(() -> Tracer.NOOP), bulkSubmitTimeout);
+    }
+
+    @Bean
+    public InternalServiceToken internalServiceToken(@Value("${internal.service.token}") String token) {
+        return new InternalServiceToken(token);
+    }
+
+    // auth-service calls /rider/internal/** with the shared internal service token; rider tokens do not count
+    // there, since those endpoints return and replace password hashes. The bulk import shares the chain: it creates
+    // accounts in bulk and holds the password hashing pool, so it is left to internal tooling too.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain internalSecurityFilterChain(HttpSecurity http,
+                                                           InternalServiceToken internalServiceToken) throws Exception {
+        AuthenticationEntryPoint authenticationEntryPoint = new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED);
+
+        return http
+                .securityMatcher("/rider/internal/**", "/rider/import")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().hasAuthority(InternalServiceToken.AUTHORITY))
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(authenticationEntryPoint))
+                .addFilterBefore(new InternalServiceAuthenticationFilter(internalServiceToken, authenticationEntryPoint),
+                        AnonymousAuthenticationFilter.class)
+                .build();
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenVerifier tokenVerifier) throws Exception {
+        AuthenticationEntryPoint authenticationEntryPoint = new TokenAuthenticationEntryPoint();
+
         return http
                 .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.POST, "/rider").permitAll()
-                        .anyRequest().permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/metrics/**", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .anyRequest().authenticated()
                 )
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(authenticationEntryPoint))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenVerifier, authenticationEntryPoint),
+                        AnonymousAuthenticationFilter.class)
                 .build();
     }
 
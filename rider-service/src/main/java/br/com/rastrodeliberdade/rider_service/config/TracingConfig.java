@@ -0,0 +1,52 @@
+package br.com.rastrodeliberdade.rider_service.config;
+
+import br.com.rastrodeliberdade.rider_service.tracing.RepositoryTracingPostProcessor;
+import br.com.rastrodeliberdade.rider_service.tracing.TracingInterceptor;
+import io.micrometer.tracing.Tracer;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+
+import java.lang.annotation.Annotation;
+
+// Controller spans come from the http.server.requests observation; these add the service and repository
+// layers below it. The file exporter comes from service-commons, OTLP is enabled by setting
+// management.otlp.tracing.endpoint.
+@Configuration
+public class TracingConfig {
+
+    // Infrastructure role so the proxy creator Spring Boot registers without AspectJ picks them up. They run
+    // before the transaction advice, so the spans include the commit.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTracingAdvisor(ObjectProvider<Tracer> tracer) {
+        return tracingAdvisor(Service.class, "service", tracer);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor jdbcRepositoryTracingAdvisor(ObjectProvider<Tracer> tracer) {
+        return tracingAdvisor(Repository.class, "repository", tracer);
+    }
+
+    @Bean
+    public static RepositoryTracingPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new RepositoryTracingPostProcessor(tracer);
+    }
+
+    private static Advisor tracingAdvisor(Class<? extends Annotation> stereotype, String layer,
+                                          ObjectProvider<Tracer> tracer) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(stereotype, false), new TracingInterceptor(tracer, layer, null));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
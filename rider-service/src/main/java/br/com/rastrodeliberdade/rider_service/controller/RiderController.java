@@ -2,30 +2,59 @@ package br.com.rastrodeliberdade.rider_service.controller;
 
 
 import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderImportResultDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderInsertDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPageDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPasswordRehashDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPatchDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderStatePageDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.service.RiderImportFormat;
+import br.com.rastrodeliberdade.rider_service.service.RiderImportService;
 import br.com.rastrodeliberdade.rider_service.service.RiderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 @RestController
 @RequestMapping(value = "/rider")
 public class RiderController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     @Autowired
     private RiderService riderService;
 
+    @Autowired
+    private RiderImportService riderImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Create a new Rider",
             description = "Endpoint to register a new Rider in the system")
     @ApiResponse(responseCode = "201", description = "Success to create a new Rider",
@@ -39,28 +68,116 @@ public class RiderController {
 
     }
 
+    @Operation(summary = "Import Riders in bulk",
+            description = "Endpoint to register many Riders at once from NDJSON, or from CSV with a header line naming " +
+                    "the fullName, email, bikerNickname, password, city and state columns. One result per input line " +
+                    "is streamed back as NDJSON while the import runs. Requires the internal service token.")
+    @ApiResponse(responseCode = "200", description = "Import results, one per input line",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = RiderImportResultDto.class)))
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importRiders(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        RiderImportFormat format = contentType.isCompatibleWith(TEXT_CSV) ? RiderImportFormat.CSV : RiderImportFormat.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charset);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            riderImportService.importRiders(reader, format, results -> {
+                try {
+                    for (RiderImportResultDto result : results) {
+                        generator.writeObject(result);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
     @Operation(summary = "Find All Riders registered",
-            description = "Endpoint to find all Riders registered in the system")
+            description = "Endpoint to find all Riders registered in the system, one page at a time. " +
+                    "Pass the returned nextCursor as cursor to fetch the following page.")
     @ApiResponse(responseCode = "200", description = "Success to find all Riders",
             content = @Content(mediaType = "application/json",
-                    array = @ArraySchema(schema = @Schema(implementation = RiderSummaryDto.class))))
+                    schema = @Schema(implementation = RiderPageDto.class)))
     @GetMapping
-    public  ResponseEntity<List<RiderSummaryDto>> findAll(){
-        List<RiderSummaryDto> riderSummaryDtoList = riderService.findAllRider();
+    public  ResponseEntity<RiderPageDto> findAll(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int size){
+        RiderPageDto riderPageDto = riderService.findAllRider(cursor, size);
+
+        return ResponseEntity.status(HttpStatus.OK).body(riderPageDto);
+    }
+
+    @Operation(summary = "Stream All Riders registered",
+            description = "Endpoint to stream all Riders registered in the system as NDJSON, " +
+                    "or as a chunked JSON array when the client accepts only application/json")
+    @ApiResponse(responseCode = "200", description = "Success to stream all Riders",
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = RiderSummaryDto.class)),
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = RiderSummaryDto.class)))})
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public void streamAll(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                          HttpServletResponse response) throws IOException {
+        boolean jsonArray = accept != null
+                && !accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+                && accept.contains(MediaType.APPLICATION_JSON_VALUE);
 
-        return ResponseEntity.status(HttpStatus.OK).body(riderSummaryDtoList);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(jsonArray ? MediaType.APPLICATION_JSON_VALUE : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            if (jsonArray) {
+                generator.writeStartArray();
+            }
+            riderService.streamAllRider(rider -> {
+                try {
+                    generator.writeObject(rider);
+                    if (!jsonArray) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (jsonArray) {
+                generator.writeEndArray();
+            }
+        }
     }
 
     @Operation(summary = "Find Rider by Id",
-            description = "Endpoint find Rider by Id in the system")
+            description = "Endpoint find Rider by Id in the system. The ETag changes with every update of the Rider, " +
+                    "send it back as If-None-Match to get a 304 while it is unchanged.")
     @ApiResponse(responseCode = "200", description = "Success to find Rider",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = RiderSummaryDto.class)))
+    @ApiResponse(responseCode = "304", description = "The Rider still matches the informed ETag")
     @GetMapping(value = "/{id}")
-    public ResponseEntity<RiderSummaryDto> findById(@PathVariable UUID id){
+    public ResponseEntity<RiderSummaryDto> findById(@PathVariable UUID id, WebRequest webRequest){
+        // Revalidations only read the version column, skipping the summary load and its serialization.
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String currentEtag = RiderEtags.of(riderService.findVersionById(id));
+            if (webRequest.checkNotModified(currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).build();
+            }
+        }
+
         RiderSummaryDto resultRider = riderService.findById(id);
 
-        return ResponseEntity.status(HttpStatus.OK).body(resultRider);
+        return ResponseEntity.status(HttpStatus.OK).eTag(RiderEtags.of(resultRider)).body(resultRider);
     }
 
     @Operation(summary = "Find Rider by email",
@@ -75,30 +192,73 @@ public class RiderController {
         return ResponseEntity.status(HttpStatus.OK).body(resultRider);
     }
 
+    @Operation(summary = "Find Rider by nickname",
+            description = "Endpoint find Rider by biker nickname in the system")
+    @ApiResponse(responseCode = "200", description = "Success to find Rider",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = RiderSummaryDto.class)))
+    @GetMapping(value = "/search/by-nickname")
+    public ResponseEntity<RiderSummaryDto> findByNickname(@RequestParam String nickname){
+        RiderSummaryDto resultRider = riderService.findByNickname(nickname);
+
+        return ResponseEntity.status(HttpStatus.OK).body(resultRider);
+    }
+
     @Operation(summary = "Find Riders by state",
-            description = "Endpoint find Riders by state in the system")
+            description = "Endpoint find Riders by state in the system, one page at a time, sorted by city or nickname. " +
+                    "Use page for numbered pages, or pass the returned nextCursor as cursor to fetch the following " +
+                    "page without an offset; the cursor keeps the sort it was issued with. Send the returned ETag " +
+                    "as If-None-Match to get a 304 while the page is unchanged.")
     @ApiResponse(responseCode = "200", description = "Success to find Riders by states",
             content = @Content(mediaType = "application/json",
-                    array = @ArraySchema(schema = @Schema(implementation = RiderSummaryDto.class))))
+                    schema = @Schema(implementation = RiderStatePageDto.class)))
+    @ApiResponse(responseCode = "304", description = "The page still matches the informed ETag")
     @GetMapping(value = "/search/by-state")
-    public ResponseEntity<List<RiderSummaryDto>> findByState(@RequestParam String state){
-        List<RiderSummaryDto> riderSummaryDtoList = riderService.findByState(state);
+    public ResponseEntity<RiderStatePageDto> findByState(@RequestParam String state,
+                                                         @RequestParam(defaultValue = "city") String sort,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int size){
+        RiderStatePageDto riderStatePageDto = riderService.findByState(state, sort, page, cursor, size);
 
-        return ResponseEntity.status(HttpStatus.OK).body(riderSummaryDtoList);
+        // Spring answers a matching If-None-Match with a 304 before the page is serialized.
+        return ResponseEntity.status(HttpStatus.OK).eTag(RiderEtags.of(riderStatePageDto)).body(riderStatePageDto);
 
     }
 
     @Operation(summary = "Update an specif Rider",
-            description = "Endpoint to update an specif Rider in the system")
+            description = "Endpoint to update an specif Rider in the system. Send the ETag of the Rider as If-Match " +
+                    "to apply the update only if nobody changed it since it was read.")
     @ApiResponse(responseCode = "200", description = "Success to update an specif  Rider",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = RiderSummaryDto.class)))
+    @ApiResponse(responseCode = "409", description = "The Rider was changed by a concurrent update")
+    @ApiResponse(responseCode = "412", description = "The Rider no longer matches the informed If-Match")
     @PutMapping(value = "/{id}")
-    public ResponseEntity<RiderSummaryDto> updated(@PathVariable UUID id, @Valid @RequestBody RiderInsertDto riderDto) {
-        RiderSummaryDto resultRiderDto = riderService.updateRider(riderDto,id);
+    public ResponseEntity<RiderSummaryDto> updated(@PathVariable UUID id, @Valid @RequestBody RiderInsertDto riderDto,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ifMatch == null ? null : RiderEtags.versionOf(ifMatch);
+        RiderSummaryDto resultRiderDto = riderService.updateRider(riderDto, id, expectedVersion);
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(RiderEtags.of(resultRiderDto)).body(resultRiderDto);
+
+    }
 
-        return ResponseEntity.status(HttpStatus.OK).body(resultRiderDto);
+    @Operation(summary = "Partially update an specif Rider",
+            description = "Endpoint to change only some fields of a Rider with a JSON Merge Patch (RFC 7396). Absent " +
+                    "fields are kept, the password is hashed only when a new one is sent, and null is rejected " +
+                    "because no field can be removed. Accepts If-Match like the full update.")
+    @ApiResponse(responseCode = "200", description = "Success to update an specif  Rider",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = RiderSummaryDto.class)))
+    @ApiResponse(responseCode = "412", description = "The Rider no longer matches the informed If-Match")
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON_VALUE)
+    public ResponseEntity<RiderSummaryDto> patch(@PathVariable UUID id, @Valid @RequestBody RiderPatchDto riderPatchDto,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ifMatch == null ? null : RiderEtags.versionOf(ifMatch);
+        RiderSummaryDto resultRiderDto = riderService.patchRider(riderPatchDto, id, expectedVersion);
 
+        return ResponseEntity.status(HttpStatus.OK).eTag(RiderEtags.of(resultRiderDto)).body(resultRiderDto);
     }
 
     @Operation(summary = "Delete an specif Rider",
@@ -125,4 +285,17 @@ public class RiderController {
 
         return ResponseEntity.status(HttpStatus.OK).body(resultRider);
     }
+
+    @Operation(summary = "Store an upgraded password hash",
+            description = "INTERNAL USE ONLY - Endpoint for the auth-service to replace a Rider password hash " +
+                    "after a successful login, only if the stored hash is still the one that was verified",
+            hidden = true)
+    @ApiResponse(responseCode = "204", description = "Success to store the upgraded password hash")
+    @ApiResponse(responseCode = "409", description = "The stored password hash changed in the meantime")
+    @PutMapping(value = "/internal/password-hash")
+    public ResponseEntity<Void> rehashPassword(@Valid @RequestBody RiderPasswordRehashDto riderPasswordRehashDto){
+        boolean updated = riderService.rehashPassword(riderPasswordRehashDto);
+
+        return ResponseEntity.status(updated ? HttpStatus.NO_CONTENT : HttpStatus.CONFLICT).build();
+    }
 }
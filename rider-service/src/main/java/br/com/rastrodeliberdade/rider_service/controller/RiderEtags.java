@@ -0,0 +1,52 @@
+package br.com.rastrodeliberdade.rider_service.controller;
+
+import br.com.rastrodeliberdade.rider_service.dto.RiderStatePageDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.exception.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+final class RiderEtags {
+
+    private RiderEtags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(RiderSummaryDto rider) {
+        return of(rider.version());
+    }
+
+    // If-Match needs the strong comparison, so only a single strong ETag or "*" (no version check) is accepted.
+    static Long versionOf(String ifMatch) {
+        String etag = ifMatch.trim();
+        if (etag.equals("*")) {
+            return null;
+        }
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            try {
+                return Long.parseLong(etag.substring(1, etag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the failure below
+            }
+        }
+        throw new PreconditionFailedException("If-Match inválido: " + ifMatch + ". Informe o ETag retornado pelo Rider");
+    }
+
+    // Every field of a row is covered by its version, so hashing the ids and versions together with the
+    // paging fields identifies the page without serializing it.
+    static String of(RiderStatePageDto page) {
+        StringBuilder key = new StringBuilder()
+                .append(page.page()).append('|')
+                .append(page.size()).append('|')
+                .append(page.totalElements()).append('|')
+                .append(page.nextCursor());
+        for (RiderSummaryDto rider : page.content()) {
+            key.append('|').append(rider.id()).append(':').append(rider.version());
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
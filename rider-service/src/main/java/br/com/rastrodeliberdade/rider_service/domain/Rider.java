@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,21 +18,28 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "riders")
+@DynamicUpdate
+@Table(name = "riders", uniqueConstraints = {
+        @UniqueConstraint(name = Rider.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = Rider.BIKER_NICKNAME_CONSTRAINT, columnNames = "biker_nickname")
+})
 public class Rider {
+    public static final String EMAIL_CONSTRAINT = "uk_riders_email";
+    public static final String BIKER_NICKNAME_CONSTRAINT = "uk_riders_biker_nickname";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
     private String fullName;
 
     @Email
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String bikerNickname;
 
     @Column(nullable = false)
@@ -43,7 +52,10 @@ public class Rider {
     private String state;
 
     @CreationTimestamp
-    @Column(updatable = false)
+    @Column(nullable = false, updatable = false)
     private LocalDateTime registerDate;
 
+    @Version
+    private Long version;
+
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package br.com.rastrodeliberdade.rider_service.domain;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// RFC 9562 version 7: a 48-bit Unix millisecond timestamp, then a 12-bit counter (rand_a), then 62 random
+// bits. New ids land at the right edge of the primary key index instead of on a random page, and the
+// counter keeps ids generated within the same millisecond in order.
+public final class UuidV7 {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        return generate(System.currentTimeMillis());
+    }
+
+    // A counter that runs out within one millisecond borrows from the next, so ids stay ordered even
+    // above 4096 per millisecond or when the clock steps back.
+    static UUID generate(long epochMillis) {
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(
+                last -> Math.max(last + 1, epochMillis << COUNTER_BITS));
+        long timestamp = timestampAndCounter >>> COUNTER_BITS;
+        long counter = timestampAndCounter & ((1L << COUNTER_BITS) - 1);
+
+        long mostSignificantBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificantBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.rastrodeliberdade.rider_service.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+public class UuidV7Generator implements UuidValueGenerator {
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return UuidV7.randomUuid();
+    }
+}
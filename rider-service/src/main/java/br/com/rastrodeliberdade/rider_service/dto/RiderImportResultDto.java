@@ -0,0 +1,11 @@
+package br.com.rastrodeliberdade.rider_service.dto;
+
+import java.util.UUID;
+
+public record RiderImportResultDto(
+        long line,
+        RiderImportStatus status,
+        UUID id,
+        String message
+) {
+}
@@ -0,0 +1,8 @@
+package br.com.rastrodeliberdade.rider_service.dto;
+
+public enum RiderImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package br.com.rastrodeliberdade.rider_service.dto;
+
+import java.util.List;
+
+public record RiderPageDto(
+        List<RiderSummaryDto> content,
+        String nextCursor
+) {
+}
@@ -0,0 +1,15 @@
+package br.com.rastrodeliberdade.rider_service.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+public record RiderPasswordRehashDto(
+        @NotBlank
+        @Email
+        String email,
+        @NotBlank
+        String currentPasswordHash,
+        @NotBlank
+        String newPasswordHash
+) {
+}
@@ -0,0 +1,47 @@
+package br.com.rastrodeliberdade.rider_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// JSON Merge Patch body: an absent member keeps the current value. Every Rider field is required, so the
+// explicit null that would remove a member is rejected instead of being read as "no change". It is a bean
+// rather than a record because Jackson reports absent creator properties as nulls too.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiderPatchDto {
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+    private static final String NOT_BLANK_MESSAGE = "não deve estar em branco";
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String fullName;
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    @Email
+    private String email;
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String bikerNickname;
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    @Size(min=8, message="A senha deve ter no minimo 8 caracteres")
+    private String password;
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String city;
+
+    @JsonSetter(nulls = Nulls.FAIL)
+    @Pattern(regexp = NOT_BLANK, message = NOT_BLANK_MESSAGE)
+    private String state;
+}
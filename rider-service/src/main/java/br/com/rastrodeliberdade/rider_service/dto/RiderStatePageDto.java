@@ -0,0 +1,12 @@
+package br.com.rastrodeliberdade.rider_service.dto;
+
+import java.util.List;
+
+public record RiderStatePageDto(
+        List<RiderSummaryDto> content,
+        Integer page,
+        int size,
+        long totalElements,
+        String nextCursor
+) {
+}
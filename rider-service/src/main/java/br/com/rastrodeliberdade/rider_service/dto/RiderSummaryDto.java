@@ -1,5 +1,7 @@
 package br.com.rastrodeliberdade.rider_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.UUID;
 
 public record RiderSummaryDto(
@@ -7,7 +9,8 @@ public record RiderSummaryDto(
         String bikerNickname,
         String email,
         String city,
-        String state
-
+        String state,
+        @JsonIgnore
+        Long version
 ) {
 }
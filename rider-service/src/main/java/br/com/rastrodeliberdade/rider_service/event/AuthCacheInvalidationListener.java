@@ -0,0 +1,32 @@
+package br.com.rastrodeliberdade.rider_service.event;
+
+import br.com.rastrodeliberdade.rider_service.client.AuthServiceClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClientException;
+
+@Component
+@ConditionalOnProperty(name = "auth.service.cache-invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class AuthCacheInvalidationListener {
+    private static final Logger log = LoggerFactory.getLogger(AuthCacheInvalidationListener.class);
+
+    private final AuthServiceClient authServiceClient;
+
+    public AuthCacheInvalidationListener(AuthServiceClient authServiceClient) {
+        this.authServiceClient = authServiceClient;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCredentialsChanged(RiderCredentialsChangedEvent event) {
+        try {
+            authServiceClient.evictRiderAuthCache(event.emails());
+        } catch (RestClientException e) {
+            log.warn("Could not evict auth-service cache for {}, entries will expire by TTL: {}",
+                    event.emails(), e.getMessage());
+        }
+    }
+}
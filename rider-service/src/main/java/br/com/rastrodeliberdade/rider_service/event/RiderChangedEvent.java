@@ -0,0 +1,11 @@
+package br.com.rastrodeliberdade.rider_service.event;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record RiderChangedEvent(
+        UUID id,
+        Set<String> emails,
+        Set<String> bikerNicknames
+) {
+}
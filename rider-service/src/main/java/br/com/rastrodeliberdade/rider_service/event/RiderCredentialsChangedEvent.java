@@ -0,0 +1,8 @@
+package br.com.rastrodeliberdade.rider_service.event;
+
+import java.util.Set;
+
+public record RiderCredentialsChangedEvent(
+        Set<String> emails
+) {
+}
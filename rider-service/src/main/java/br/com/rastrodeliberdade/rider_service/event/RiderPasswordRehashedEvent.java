@@ -0,0 +1,7 @@
+package br.com.rastrodeliberdade.rider_service.event;
+
+// The stored hash was re-encoded from the same password: only local caches go stale, sessions stay valid.
+public record RiderPasswordRehashedEvent(
+        String email
+) {
+}
@@ -0,0 +1,7 @@
+package br.com.rastrodeliberdade.rider_service.event;
+
+public record RiderStateChangedEvent(
+        String previousState,
+        String currentState
+) {
+}
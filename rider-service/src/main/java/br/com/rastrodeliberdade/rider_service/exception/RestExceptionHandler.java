@@ -1,8 +1,12 @@
 package br.com.rastrodeliberdade.rider_service.exception;
 
+import br.com.rastrodeliberdade.service_commons.security.PasswordHashingUnavailableException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -40,6 +44,34 @@ public class RestExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<StandardError> preconditionFailed(PreconditionFailedException e, HttpServletRequest request){
+        String error = "Pré-condição não atendida";
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        StandardError err = new StandardError(
+                Instant.now(),
+                status.value(),
+                error,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<StandardError> optimisticLockingFailure(OptimisticLockingFailureException e, HttpServletRequest request){
+        String error = "Conflito de atualização";
+        HttpStatus status = HttpStatus.CONFLICT;
+        StandardError err = new StandardError(
+                Instant.now(),
+                status.value(),
+                error,
+                "O Rider foi alterado por outra requisição, consulte-o novamente antes de atualizar",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(err);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<StandardError> validation(MethodArgumentNotValidException e, HttpServletRequest request){
         String error = "Erro de validação";
@@ -54,6 +86,34 @@ public class RestExceptionHandler {
         return ResponseEntity.status(status).body(err);
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<StandardError> notReadable(HttpMessageNotReadableException e, HttpServletRequest request){
+        String error = "Requisição malformada";
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError(
+                Instant.now(),
+                status.value(),
+                error,
+                e.getMostSpecificCause().getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<StandardError> passwordHashingUnavailable(PasswordHashingUnavailableException e, HttpServletRequest request){
+        String error = "Serviço temporariamente indisponível";
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        StandardError err = new StandardError(
+                Instant.now(),
+                status.value(),
+                error,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").body(err);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<StandardError> genericException(Exception e, HttpServletRequest request){
         String error = "Erro interno de servidor";
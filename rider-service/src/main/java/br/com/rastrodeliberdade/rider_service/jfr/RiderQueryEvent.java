@@ -0,0 +1,26 @@
+package br.com.rastrodeliberdade.rider_service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.rastrodeliberdade.rider.RiderQuery")
+@Label("Rider Query")
+@Description("A call into a rider-service service, including its transaction and repository queries")
+@Category({"Rastro de Liberdade", "rider-service"})
+@StackTrace(false)
+public class RiderQueryEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    @Description("Riders returned or streamed, or 1 for a single rider")
+    long rows;
+
+    @Label("Exception")
+    String exception;
+}
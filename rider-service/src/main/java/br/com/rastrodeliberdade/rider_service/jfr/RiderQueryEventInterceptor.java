@@ -0,0 +1,76 @@
+package br.com.rastrodeliberdade.rider_service.jfr;
+
+import br.com.rastrodeliberdade.rider_service.dto.RiderPageDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderStatePageDto;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Emits a RiderQueryEvent per call. Streaming methods hand their rows to a Consumer argument instead of returning
+// them, so the consumer is wrapped to count what passes through it.
+public class RiderQueryEventInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RiderQueryEvent event = new RiderQueryEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        event.begin();
+        event.operation = ClassUtils.getUserClass(invocation.getThis().getClass()).getSimpleName()
+                + "." + invocation.getMethod().getName();
+        long[] streamed = countConsumedRows(invocation);
+        try {
+            Object result = invocation.proceed();
+            event.rows = streamed != null ? streamed[0] : rows(result);
+            return result;
+        } catch (Throwable e) {
+            event.exception = e.getClass().getName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static long[] countConsumedRows(MethodInvocation invocation) {
+        if (!(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return null;
+        }
+        Object[] arguments = proxyInvocation.getArguments();
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] instanceof Consumer<?> consumer) {
+                long[] count = new long[1];
+                arguments[i] = counting(consumer, count);
+                proxyInvocation.setArguments(arguments);
+                return count;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<Object> counting(Consumer<?> consumer, long[] count) {
+        Consumer<Object> delegate = (Consumer<Object>) consumer;
+        return value -> {
+            count[0] += rows(value);
+            delegate.accept(value);
+        };
+    }
+
+    private static long rows(Object result) {
+        return switch (result) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case RiderPageDto page -> page.content().size();
+            case RiderStatePageDto page -> page.content().size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            default -> 1;
+        };
+    }
+}
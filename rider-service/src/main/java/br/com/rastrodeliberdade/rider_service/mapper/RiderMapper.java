@@ -1,9 +1,9 @@
 package br.com.rastrodeliberdade.rider_service.mapper;
 
 import br.com.rastrodeliberdade.rider_service.domain.Rider;
-import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderInsertDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.repository.RiderSummaryRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -13,7 +13,7 @@ public interface RiderMapper {
 
     RiderSummaryDto toSummaryDto(Rider rider);
 
-    RiderAuthDto toAuthDto(Rider rider);
+    RiderSummaryDto toSummaryDto(RiderSummaryRow row);
 
     @Mapping(target = "password", ignore = true)
     Rider toRider(RiderInsertDto dto);
@@ -0,0 +1,45 @@
+package br.com.rastrodeliberdade.rider_service.repository;
+
+import br.com.rastrodeliberdade.rider_service.domain.Rider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+// Bulk writes skip the persistence context: the entities are never read back, and one multi-row JDBC batch
+// replaces the per-entity insert Hibernate would issue.
+@Repository
+public class RiderJdbcRepository {
+    private static final String INSERT = """
+            insert into riders (id, full_name, email, biker_nickname, password, city, state, register_date)
+            values (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RiderJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<Rider> riders) {
+        jdbcTemplate.batchUpdate(INSERT, riders, riders.size(), RiderJdbcRepository::bind);
+    }
+
+    public void insert(Rider rider) {
+        jdbcTemplate.update(INSERT, statement -> bind(statement, rider));
+    }
+
+    private static void bind(PreparedStatement statement, Rider rider) throws SQLException {
+        statement.setObject(1, rider.getId());
+        statement.setString(2, rider.getFullName());
+        statement.setString(3, rider.getEmail());
+        statement.setString(4, rider.getBikerNickname());
+        statement.setString(5, rider.getPassword());
+        statement.setString(6, rider.getCity());
+        statement.setString(7, rider.getState());
+        statement.setTimestamp(8, Timestamp.valueOf(rider.getRegisterDate()));
+    }
+}
@@ -1,19 +1,97 @@
 package br.com.rastrodeliberdade.rider_service.repository;
 
 import br.com.rastrodeliberdade.rider_service.domain.Rider;
+import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface RiderRepository extends JpaRepository<Rider, UUID> {
-    Optional<Rider> findByBikerNickname(String bikerNickname);
+    String SUMMARY = "new br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto(r.id, r.bikerNickname, r.email, r.city, r.state, r.version)";
+    String SUMMARY_ROW = "new br.com.rastrodeliberdade.rider_service.repository.RiderSummaryRow(r.id, r.bikerNickname, r.email, r.city, r.state, r.registerDate, r.version)";
 
-    List<Rider> findByState(String state);
+    @Query("select " + SUMMARY + " from Rider r where r.id = :id")
+    Optional<RiderSummaryDto> findSummaryById(UUID id);
 
-    Optional<Rider> findByEmail(String email);
+    @Query("select r.version from Rider r where r.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    @Query("select " + SUMMARY + " from Rider r where r.email = :email")
+    Optional<RiderSummaryDto> findSummaryByEmail(String email);
+
+    @Query("select " + SUMMARY + " from Rider r where r.bikerNickname = :bikerNickname")
+    Optional<RiderSummaryDto> findSummaryByBikerNickname(String bikerNickname);
+
+    @Query("select " + SUMMARY_ROW + " from Rider r where r.state = :state")
+    List<RiderSummaryRow> findStatePage(String state, Pageable pageable);
+
+    @Query("select " + SUMMARY_ROW + """
+             from Rider r
+            where r.state = :state
+              and r.city >= :city
+              and (r.city > :city or r.id > :id)
+            order by r.city asc, r.id asc
+            """)
+    List<RiderSummaryRow> findStatePageAfterCity(String state, String city, UUID id, Limit limit);
+
+    @Query("select " + SUMMARY_ROW + """
+             from Rider r
+            where r.state = :state
+              and r.bikerNickname > :bikerNickname
+            order by r.bikerNickname asc
+            """)
+    List<RiderSummaryRow> findStatePageAfterNickname(String state, String bikerNickname, Limit limit);
+
+    long countByState(String state);
+
+    // A union rather than an OR, so each half is an index lookup on its own unique constraint.
+    @Query("""
+            select new br.com.rastrodeliberdade.rider_service.repository.RiderUniqueKeys(r.email, r.bikerNickname)
+              from Rider r
+             where r.email in :emails
+            union
+            select new br.com.rastrodeliberdade.rider_service.repository.RiderUniqueKeys(r.email, r.bikerNickname)
+              from Rider r
+             where r.bikerNickname in :bikerNicknames
+            """)
+    List<RiderUniqueKeys> findUniqueKeys(Collection<String> emails, Collection<String> bikerNicknames);
+
+    @Query("select new br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto(r.id, r.email, r.password) from Rider r where r.email = :email")
+    Optional<RiderAuthDto> findAuthDataByEmail(String email);
+
+    @Query("select " + SUMMARY_ROW + " from Rider r order by r.registerDate asc, r.id asc")
+    List<RiderSummaryRow> findFirstPage(Limit limit);
+
+    // The redundant >= bound turns the walk over idx_riders_register_date_id into a range scan instead of a filter.
+    @Query("select " + SUMMARY_ROW + """
+             from Rider r
+            where r.registerDate >= :registerDate
+              and (r.registerDate > :registerDate or r.id > :id)
+            order by r.registerDate asc, r.id asc
+            """)
+    List<RiderSummaryRow> findPageAfter(LocalDateTime registerDate, UUID id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select " + SUMMARY + " from Rider r order by r.registerDate asc, r.id asc")
+    Stream<RiderSummaryDto> streamAll();
+
+    @Modifying
+    @Query("update Rider r set r.password = :newPasswordHash where r.email = :email and r.password = :currentPasswordHash")
+    int updatePasswordHash(String email, String currentPasswordHash, String newPasswordHash);
 
 }
@@ -0,0 +1,15 @@
+package br.com.rastrodeliberdade.rider_service.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RiderSummaryRow(
+        UUID id,
+        String bikerNickname,
+        String email,
+        String city,
+        String state,
+        LocalDateTime registerDate,
+        Long version
+) {
+}
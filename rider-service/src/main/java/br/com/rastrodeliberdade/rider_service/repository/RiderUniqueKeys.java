@@ -0,0 +1,7 @@
+package br.com.rastrodeliberdade.rider_service.repository;
+
+public record RiderUniqueKeys(
+        String email,
+        String bikerNickname
+) {
+}
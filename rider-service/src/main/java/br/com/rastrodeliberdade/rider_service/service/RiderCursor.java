@@ -0,0 +1,30 @@
+package br.com.rastrodeliberdade.rider_service.service;
+
+import br.com.rastrodeliberdade.rider_service.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+record RiderCursor(LocalDateTime registerDate, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = registerDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RiderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new RiderCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Cursor de paginação inválido: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.rastrodeliberdade.rider_service.service;
+
+public enum RiderImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,260 @@
+package br.com.rastrodeliberdade.rider_service.service;
+
+import br.com.rastrodeliberdade.rider_service.domain.Rider;
+import br.com.rastrodeliberdade.rider_service.domain.UuidV7;
+import br.com.rastrodeliberdade.rider_service.dto.RiderImportResultDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderImportStatus;
+import br.com.rastrodeliberdade.rider_service.dto.RiderInsertDto;
+import br.com.rastrodeliberdade.rider_service.event.RiderCredentialsChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderStateChangedEvent;
+import br.com.rastrodeliberdade.rider_service.mapper.RiderMapper;
+import br.com.rastrodeliberdade.rider_service.repository.RiderJdbcRepository;
+import br.com.rastrodeliberdade.rider_service.repository.RiderRepository;
+import br.com.rastrodeliberdade.rider_service.repository.RiderUniqueKeys;
+import br.com.rastrodeliberdade.service_commons.security.BoundedPasswordEncoder;
+import br.com.rastrodeliberdade.service_commons.security.PasswordHashingUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+public class RiderImportService {
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Autowired
+    private RiderRepository riderRepository;
+
+    @Autowired
+    private RiderJdbcRepository riderJdbcRepository;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RiderMapper riderMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${rider.import.batch-size}")
+    private int batchSize;
+
+    // Rows are read one line at a time, so a CSV field cannot span lines; no rider field needs to. Each chunk
+    // of batchSize rows is checked, hashed and inserted before the next one is read, which bounds memory and
+    // lets the caller stream the results back while the import is still running.
+    public void importRiders(Reader reader, RiderImportFormat format, Consumer<List<RiderImportResultDto>> results)
+            throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        ObjectReader rowReader = format == RiderImportFormat.NDJSON ? objectMapper.readerFor(RiderInsertDto.class) : null;
+
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (rowReader == null) {
+                rowReader = CSV_MAPPER.readerFor(RiderInsertDto.class).with(csvSchema(line));
+                continue;
+            }
+            chunk.add(parse(rowReader, line, lineNumber));
+            if (chunk.size() == batchSize) {
+                results.accept(importChunk(chunk));
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.accept(importChunk(chunk));
+        }
+    }
+
+    private static CsvSchema csvSchema(String header) {
+        CsvSchema.Builder schema = CsvSchema.builder();
+        Arrays.stream(header.replace("\uFEFF", "").split(","))
+                .map(column -> column.trim().replace("\"", ""))
+                .forEach(schema::addColumn);
+        return schema.build();
+    }
+
+    private ImportRow parse(ObjectReader rowReader, String line, long lineNumber) {
+        RiderInsertDto rider;
+        try {
+            rider = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(lineNumber, null, "Linha inválida: " + e.getOriginalMessage());
+        }
+        if (rider == null) {
+            return new ImportRow(lineNumber, null, "Linha inválida: esperado um objeto com os dados do rider");
+        }
+
+        Set<ConstraintViolation<RiderInsertDto>> violations = validator.validate(rider);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ImportRow(lineNumber, null, "Dados inválidos: " + message);
+        }
+        return new ImportRow(lineNumber, rider, null);
+    }
+
+    private List<RiderImportResultDto> importChunk(List<ImportRow> rows) {
+        List<RiderImportResultDto> results = new ArrayList<>(Collections.nCopies(rows.size(), null));
+
+        Set<String> emails = new HashSet<>();
+        Set<String> bikerNicknames = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.rider() != null) {
+                emails.add(RiderService.normalizeEmail(row.rider().email()));
+                bikerNicknames.add(row.rider().bikerNickname());
+            }
+        }
+        List<RiderUniqueKeys> existing = emails.isEmpty()
+                ? List.of()
+                : riderRepository.findUniqueKeys(emails, bikerNicknames);
+        Set<String> takenEmails = existing.stream().map(RiderUniqueKeys::email).collect(Collectors.toSet());
+        Set<String> takenBikerNicknames = existing.stream().map(RiderUniqueKeys::bikerNickname).collect(Collectors.toSet());
+
+        Set<String> importedEmails = new HashSet<>();
+        Set<String> importedBikerNicknames = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            if (row.rider() == null) {
+                results.set(i, new RiderImportResultDto(row.line(), RiderImportStatus.INVALID, null, row.error()));
+                continue;
+            }
+            String email = RiderService.normalizeEmail(row.rider().email());
+            String bikerNickname = row.rider().bikerNickname();
+            String duplicate = null;
+            if (takenEmails.contains(email)) {
+                duplicate = "Já existe um usuário cadastrado com o e-mail: " + email;
+            } else if (takenBikerNicknames.contains(bikerNickname)) {
+                duplicate = "Já existe um usuário cadastrado com o nickname: " + bikerNickname;
+            } else if (importedEmails.contains(email)) {
+                duplicate = "E-mail repetido na importação: " + email;
+            } else if (importedBikerNicknames.contains(bikerNickname)) {
+                duplicate = "Nickname repetido na importação: " + bikerNickname;
+            }
+            if (duplicate != null) {
+                results.set(i, new RiderImportResultDto(row.line(), RiderImportStatus.DUPLICATE, null, duplicate));
+                continue;
+            }
+            importedEmails.add(email);
+            importedBikerNicknames.add(bikerNickname);
+            accepted.add(i);
+        }
+
+        if (!accepted.isEmpty()) {
+            List<String> passwordHashes;
+            try {
+                passwordHashes = passwordEncoder.encodeAll(
+                        accepted.stream().map(i -> rows.get(i).rider().password()).toList());
+            } catch (PasswordHashingUnavailableException e) {
+                // Nothing of this chunk was written; its lines can be sent again once the hashing pool has room.
+                for (int i : accepted) {
+                    results.set(i, new RiderImportResultDto(rows.get(i).line(), RiderImportStatus.FAILED, null,
+                            e.getMessage()));
+                }
+                return results;
+            }
+            LocalDateTime registerDate = LocalDateTime.now();
+            List<Rider> riders = new ArrayList<>(accepted.size());
+            for (int j = 0; j < accepted.size(); j++) {
+                RiderInsertDto riderInsertDto = rows.get(accepted.get(j)).rider();
+                Rider rider = riderMapper.toRider(riderInsertDto);
+                rider.setId(UuidV7.randomUuid());
+                rider.setEmail(RiderService.normalizeEmail(riderInsertDto.email()));
+                rider.setPassword(passwordHashes.get(j));
+                rider.setRegisterDate(registerDate);
+                riders.add(rider);
+            }
+            insert(riders, accepted, rows, results);
+        }
+
+        return results;
+    }
+
+    private void insert(List<Rider> riders, List<Integer> accepted, List<ImportRow> rows,
+                        List<RiderImportResultDto> results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                riderJdbcRepository.insertAll(riders);
+                riders.forEach(this::publishCreated);
+                eventPublisher.publishEvent(new RiderCredentialsChangedEvent(
+                        riders.stream().map(Rider::getEmail).collect(Collectors.toSet())));
+            });
+            for (int j = 0; j < riders.size(); j++) {
+                results.set(accepted.get(j), created(rows.get(accepted.get(j)), riders.get(j)));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another writer took one of the keys after the lookup; retry the chunk row by row to find which.
+            for (int j = 0; j < riders.size(); j++) {
+                ImportRow row = rows.get(accepted.get(j));
+                Rider rider = riders.get(j);
+                try {
+                    riderJdbcRepository.insert(rider);
+                    publishCreated(rider);
+                    eventPublisher.publishEvent(new RiderCredentialsChangedEvent(Set.of(rider.getEmail())));
+                    results.set(accepted.get(j), created(row, rider));
+                } catch (DataIntegrityViolationException rowViolation) {
+                    String message = RiderService.violatedConstraint(rowViolation).contains(Rider.BIKER_NICKNAME_CONSTRAINT)
+                            ? "Já existe um usuário cadastrado com o nickname: " + rider.getBikerNickname()
+                            : "Já existe um usuário cadastrado com o e-mail: " + rider.getEmail();
+                    results.set(accepted.get(j),
+                            new RiderImportResultDto(row.line(), RiderImportStatus.DUPLICATE, null, message));
+                }
+            }
+        }
+    }
+
+    // New e-mails are announced like changed credentials, so auth-service drops the negative entry a login
+    // attempted before the import may have left for them.
+    private void publishCreated(Rider rider) {
+        eventPublisher.publishEvent(new RiderStateChangedEvent(null, rider.getState()));
+    }
+
+    private static RiderImportResultDto created(ImportRow row, Rider rider) {
+        return new RiderImportResultDto(row.line(), RiderImportStatus.CREATED, rider.getId(), null);
+    }
+
+    private record ImportRow(long line, RiderInsertDto rider, String error) {
+    }
+}
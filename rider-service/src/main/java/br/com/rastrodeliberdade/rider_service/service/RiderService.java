@@ -1,24 +1,48 @@
 package br.com.rastrodeliberdade.rider_service.service;
 
+import br.com.rastrodeliberdade.rider_service.cache.RiderCache;
 import br.com.rastrodeliberdade.rider_service.domain.Rider;
 import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderInsertDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPageDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPasswordRehashDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPatchDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderStatePageDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.event.RiderChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderCredentialsChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderPasswordRehashedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderStateChangedEvent;
 import br.com.rastrodeliberdade.rider_service.exception.BusinessException;
+import br.com.rastrodeliberdade.rider_service.exception.PreconditionFailedException;
 import br.com.rastrodeliberdade.rider_service.exception.ResourceNotFoundException;
 import br.com.rastrodeliberdade.rider_service.mapper.RiderMapper;
 import br.com.rastrodeliberdade.rider_service.repository.RiderRepository;
+import br.com.rastrodeliberdade.rider_service.repository.RiderSummaryRow;
+import br.com.rastrodeliberdade.service_commons.security.PasswordEncoders;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class RiderService {
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private RiderRepository riderRepository;
 
@@ -28,72 +52,227 @@ public class RiderService {
     @Autowired
     private RiderMapper riderMapper;
 
-    public RiderSummaryDto insertRider(RiderInsertDto riderInsertDto){
-        if(riderRepository.findByEmail(riderInsertDto.email()).isPresent()){
-            throw  new BusinessException("Já existe um  usuário cadastrado com o e-mail: "+riderInsertDto.email());
-        }
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-        if(riderRepository.findByBikerNickname(riderInsertDto.bikerNickname()).isPresent()){
-            throw new BusinessException("já existe um usuário cadastrado com o nickname: "+riderInsertDto.bikerNickname());
-        }
+    @Autowired
+    private RiderStateCounts riderStateCounts;
+
+    @Autowired
+    private RiderCache riderCache;
 
+    public RiderSummaryDto insertRider(RiderInsertDto riderInsertDto){
         Rider newRider = riderMapper.toRider(riderInsertDto);
+        newRider.setEmail(normalizeEmail(riderInsertDto.email()));
 
         newRider.setPassword(passwordEncoder.encode(riderInsertDto.password()));
 
-        Rider savedRider = riderRepository.save(newRider);
+        Rider savedRider;
+        try {
+            savedRider = riderRepository.saveAndFlush(newRider);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateRider(e,
+                    "Já existe um  usuário cadastrado com o e-mail: "+riderInsertDto.email(),
+                    "já existe um usuário cadastrado com o nickname: "+riderInsertDto.bikerNickname());
+        }
+
+        eventPublisher.publishEvent(new RiderStateChangedEvent(null, savedRider.getState()));
+        // auth-service may hold a negative entry for this e-mail from a login attempted before the sign-up.
+        eventPublisher.publishEvent(new RiderCredentialsChangedEvent(Set.of(savedRider.getEmail())));
 
         return riderMapper.toSummaryDto(savedRider);
     }
 
-    public List<RiderSummaryDto> findAllRider(){
-        List<Rider> riders = riderRepository.findAll();
+    @Transactional(readOnly = true)
+    public RiderPageDto findAllRider(String cursor, int size){
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<RiderSummaryRow> riders;
+        if (cursor == null || cursor.isBlank()) {
+            riders = riderRepository.findFirstPage(limit);
+        } else {
+            RiderCursor after = RiderCursor.decode(cursor);
+            riders = riderRepository.findPageAfter(after.registerDate(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (riders.size() > pageSize) {
+            riders = riders.subList(0, pageSize);
+            RiderSummaryRow last = riders.get(pageSize - 1);
+            nextCursor = new RiderCursor(last.registerDate(), last.id()).encode();
+        }
 
-        return riders.stream()
+        List<RiderSummaryDto> content = riders.stream()
                 .map(riderMapper::toSummaryDto)
                 .toList();
+
+        return new RiderPageDto(content, nextCursor);
     }
 
+    @Transactional(readOnly = true)
+    public void streamAllRider(Consumer<RiderSummaryDto> consumer){
+        try (Stream<RiderSummaryDto> riders = riderRepository.streamAll()) {
+            riders.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public RiderSummaryDto findById(UUID id){
-        Rider rider = riderRepository.findById(id)
+        return riderCache.summaryById(id, riderRepository::findSummaryById)
                 .orElseThrow(()->new ResourceNotFoundException("Rider", id));
+    }
 
-        return riderMapper.toSummaryDto(rider);
+    @Transactional(readOnly = true)
+    public long findVersionById(UUID id){
+        return riderRepository.findVersionById(id)
+                .orElseThrow(()->new ResourceNotFoundException("Rider", id));
     }
 
+    @Transactional(readOnly = true)
     public  RiderSummaryDto findByEmail(String email){
-        Rider rider = riderRepository.findByEmail(email)
+        return riderCache.summaryByEmail(normalizeEmail(email), riderRepository::findSummaryByEmail)
                 .orElseThrow(()->new ResourceNotFoundException("Rider", "e-mail", email));
+    }
 
-        return riderMapper.toSummaryDto(rider);
+    @Transactional(readOnly = true)
+    public RiderSummaryDto findByNickname(String bikerNickname){
+        return riderCache.summaryByNickname(bikerNickname, riderRepository::findSummaryByBikerNickname)
+                .orElseThrow(()->new ResourceNotFoundException("Rider", "nickname", bikerNickname));
     }
 
-    public List<RiderSummaryDto> findByState(String state){
-        List<Rider> riders = riderRepository.findByState(state);
+    @Transactional(readOnly = true)
+    public RiderStatePageDto findByState(String state, String sort, int page, String cursor, int size){
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long totalElements = riderStateCounts.count(state);
+
+        List<RiderSummaryRow> riders;
+        Integer pageNumber = null;
+        RiderStateSort stateSort;
+        boolean hasNext;
+        if (cursor == null || cursor.isBlank()) {
+            stateSort = RiderStateSort.from(sort);
+            pageNumber = Math.max(page, 0);
+            riders = riderRepository.findStatePage(state, PageRequest.of(pageNumber, pageSize, stateSort.sort()));
+            // Offset pages already know the cached total, so they skip the extra look-ahead row keyset pages read.
+            hasNext = (long) pageNumber * pageSize + riders.size() < totalElements;
+        } else {
+            RiderStateCursor after = RiderStateCursor.decode(cursor);
+            stateSort = after.sort();
+            Limit limit = Limit.of(pageSize + 1);
+            riders = switch (stateSort) {
+                case CITY -> riderRepository.findStatePageAfterCity(state, after.key(), after.id(), limit);
+                case NICKNAME -> riderRepository.findStatePageAfterNickname(state, after.key(), limit);
+            };
+            hasNext = riders.size() > pageSize;
+            if (hasNext) {
+                riders = riders.subList(0, pageSize);
+            }
+        }
 
-        return riders.stream()
+        String nextCursor = null;
+        if (hasNext && !riders.isEmpty()) {
+            RiderSummaryRow last = riders.getLast();
+            nextCursor = new RiderStateCursor(stateSort, stateSort.key(last), last.id()).encode();
+        }
+
+        List<RiderSummaryDto> content = riders.stream()
                 .map(riderMapper::toSummaryDto)
                 .toList();
+
+        return new RiderStatePageDto(content, pageNumber, pageSize, totalElements, nextCursor);
     }
 
+    // With an expected version the update only applies to that version of the rider. The check here fails
+    // fast, and the version predicate of Hibernate's UPDATE catches a writer that commits in between.
     @Transactional
-    public RiderSummaryDto updateRider(RiderInsertDto riderInsertDto, UUID idToUpdate){
-        Rider riderToUpdate = riderRepository.findById(idToUpdate)
-                .orElseThrow(()->new ResourceNotFoundException("Rider",idToUpdate));
-
-        validateIfEmailAlreadyRegisteredAnotherRider(riderInsertDto.email(), riderToUpdate);
-        validateIfBikerNickNameAlreadyRegisteredAnotherRider(riderInsertDto.bikerNickname(), riderToUpdate);
+    public RiderSummaryDto updateRider(RiderInsertDto riderInsertDto, UUID idToUpdate, Long expectedVersion){
+        Rider riderToUpdate = findForUpdate(idToUpdate, expectedVersion);
+        String previousEmail = riderToUpdate.getEmail();
+        String previousBikerNickname = riderToUpdate.getBikerNickname();
+        String previousState = riderToUpdate.getState();
 
         riderMapper.updateRiderFromDto(riderInsertDto, riderToUpdate);
+        riderToUpdate.setEmail(normalizeEmail(riderInsertDto.email()));
 
         if (riderInsertDto.password() != null && !riderInsertDto.password().isBlank()) {
             riderToUpdate.setPassword(passwordEncoder.encode(riderInsertDto.password()));
         }
 
-        Rider updatedRider = riderRepository.save(riderToUpdate);
+        return saveChanges(riderToUpdate, previousEmail, previousBikerNickname, previousState, expectedVersion, true);
+    }
 
-        return riderMapper.toSummaryDto(updatedRider);
+    // Only the supplied fields are touched and the password is hashed only when a new one is sent. Rider is
+    // @DynamicUpdate, so the UPDATE names just the columns that really changed and a fields-equal patch
+    // writes nothing; unique indexes are then only checked for an e-mail or nickname that changed.
+    @Transactional
+    public RiderSummaryDto patchRider(RiderPatchDto riderPatchDto, UUID idToPatch, Long expectedVersion){
+        Rider riderToPatch = findForUpdate(idToPatch, expectedVersion);
+        String previousEmail = riderToPatch.getEmail();
+        String previousBikerNickname = riderToPatch.getBikerNickname();
+        String previousState = riderToPatch.getState();
+
+        if (riderPatchDto.getFullName() != null) {
+            riderToPatch.setFullName(riderPatchDto.getFullName());
+        }
+        if (riderPatchDto.getEmail() != null) {
+            riderToPatch.setEmail(normalizeEmail(riderPatchDto.getEmail()));
+        }
+        if (riderPatchDto.getBikerNickname() != null) {
+            riderToPatch.setBikerNickname(riderPatchDto.getBikerNickname());
+        }
+        if (riderPatchDto.getCity() != null) {
+            riderToPatch.setCity(riderPatchDto.getCity());
+        }
+        if (riderPatchDto.getState() != null) {
+            riderToPatch.setState(riderPatchDto.getState());
+        }
+        if (riderPatchDto.getPassword() != null) {
+            riderToPatch.setPassword(passwordEncoder.encode(riderPatchDto.getPassword()));
+        }
+
+        boolean credentialsChanged = riderPatchDto.getPassword() != null
+                || !previousEmail.equals(riderToPatch.getEmail());
+        return saveChanges(riderToPatch, previousEmail, previousBikerNickname, previousState, expectedVersion,
+                credentialsChanged);
+    }
+
+    private Rider findForUpdate(UUID id, Long expectedVersion){
+        Rider rider = riderRepository.findById(id)
+                .orElseThrow(()->new ResourceNotFoundException("Rider",id));
+        if (expectedVersion != null && !expectedVersion.equals(rider.getVersion())) {
+            throw staleVersion(id, null);
+        }
+        return rider;
+    }
+
+    private RiderSummaryDto saveChanges(Rider rider, String previousEmail, String previousBikerNickname,
+                                        String previousState, Long expectedVersion, boolean credentialsChanged){
+        Rider updatedRider;
+        try {
+            updatedRider = riderRepository.saveAndFlush(rider);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateRider(e,
+                    "Já existe um usuario diferente cadastrado com o e-mail: "+rider.getEmail(),
+                    "Já existe um usuario diferente cadastrado com o nickname: "+rider.getBikerNickname());
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw staleVersion(rider.getId(), e);
+            }
+            throw e;
+        }
+
+        Set<String> emails = Stream.of(previousEmail, updatedRider.getEmail()).collect(Collectors.toSet());
+        eventPublisher.publishEvent(new RiderChangedEvent(updatedRider.getId(), emails,
+                Stream.of(previousBikerNickname, updatedRider.getBikerNickname()).collect(Collectors.toSet())));
+        if (credentialsChanged) {
+            eventPublisher.publishEvent(new RiderCredentialsChangedEvent(emails));
+        }
+        if (!previousState.equals(updatedRider.getState())) {
+            eventPublisher.publishEvent(new RiderStateChangedEvent(previousState, updatedRider.getState()));
+        }
 
+        return riderMapper.toSummaryDto(updatedRider);
     }
 
     @Transactional
@@ -102,30 +281,80 @@ public class RiderService {
                 .orElseThrow(()->new ResourceNotFoundException("Rider",id));
 
         riderRepository.delete(riderToDelete);
+
+        eventPublisher.publishEvent(new RiderChangedEvent(riderToDelete.getId(), Set.of(riderToDelete.getEmail()),
+                Set.of(riderToDelete.getBikerNickname())));
+        eventPublisher.publishEvent(new RiderCredentialsChangedEvent(Set.of(riderToDelete.getEmail())));
+        eventPublisher.publishEvent(new RiderStateChangedEvent(riderToDelete.getState(), null));
     }
 
+    @Transactional(readOnly = true)
     public RiderAuthDto findAuthDataByEmail(String email){
-        Rider rider = riderRepository.findByEmail(email)
+        return riderCache.authDataByEmail(normalizeEmail(email), riderRepository::findAuthDataByEmail)
                 .orElseThrow(()-> new ResourceNotFoundException("Rider", "e-mail", email));
+    }
 
-        return riderMapper.toAuthDto(rider);
+    @Transactional
+    public boolean rehashPassword(RiderPasswordRehashDto riderPasswordRehashDto){
+        if (!isCurrentPasswordHashFormat(riderPasswordRehashDto.newPasswordHash())) {
+            throw new BusinessException("O hash de senha informado não está no formato atual");
+        }
 
+        String email = normalizeEmail(riderPasswordRehashDto.email());
+        int updatedRows = riderRepository.updatePasswordHash(
+                email,
+                riderPasswordRehashDto.currentPasswordHash(),
+                riderPasswordRehashDto.newPasswordHash());
+        if (updatedRows == 0) {
+            return false;
+        }
+
+        eventPublisher.publishEvent(new RiderPasswordRehashedEvent(email));
+        return true;
     }
 
-    private void validateIfEmailAlreadyRegisteredAnotherRider(String email, Rider rider){
-        Optional<Rider> existingRider = riderRepository.findByEmail(email);
-        if(existingRider.isPresent() && !(existingRider.get().getId().equals(rider.getId()))){
-            throw new BusinessException("Já existe um usuario diferente cadastrado com o e-mail: "+email);
+    private boolean isCurrentPasswordHashFormat(String passwordHash){
+        if (!PasswordEncoders.isWellFormed(passwordHash)) {
+            return false;
+        }
+        try {
+            return !passwordEncoder.upgradeEncoding(passwordHash);
+        } catch (IllegalArgumentException e) {
+            return false;
         }
     }
 
-    private void validateIfBikerNickNameAlreadyRegisteredAnotherRider(String bikerNickName, Rider rider){
-        Optional<Rider> existingRider = riderRepository.findByBikerNickname(bikerNickName);
+    // E-mails are stored lower-cased (enforced by ck_riders_email_lowercase), so the unique index on email also
+    // serves case-insensitive lookups on every database without an expression index.
+    static String normalizeEmail(String email){
+        return email.toLowerCase(Locale.ROOT);
+    }
 
-        if(existingRider.isPresent() && !(existingRider.get().getId().equals(rider.getId()))){
-            throw new BusinessException("Já existe um usuario diferente cadastrado com o nickname: "+bikerNickName);
+    // The unique constraints are the source of truth: checking with a query first costs extra round-trips
+    // and still lets two concurrent writers race past it.
+    private RuntimeException duplicateRider(DataIntegrityViolationException e, String emailMessage, String nicknameMessage){
+        String violatedConstraint = violatedConstraint(e);
+        if (violatedConstraint.contains(Rider.EMAIL_CONSTRAINT)) {
+            return new BusinessException(emailMessage, e);
+        }
+        if (violatedConstraint.contains(Rider.BIKER_NICKNAME_CONSTRAINT)) {
+            return new BusinessException(nicknameMessage, e);
         }
+        return e;
     }
 
+    private PreconditionFailedException staleVersion(UUID id, Throwable cause){
+        return new PreconditionFailedException(
+                "O Rider com ID " + id + " foi alterado desde a versão informada em If-Match", cause);
+    }
 
+    static String violatedConstraint(DataIntegrityViolationException e){
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message == null ? "" : message.toLowerCase(Locale.ROOT);
+    }
 }
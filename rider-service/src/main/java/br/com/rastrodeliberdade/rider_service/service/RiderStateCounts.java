@@ -0,0 +1,72 @@
+package br.com.rastrodeliberdade.rider_service.service;
+
+import br.com.rastrodeliberdade.rider_service.event.RiderStateChangedEvent;
+import br.com.rastrodeliberdade.rider_service.repository.RiderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+@Component
+public class RiderStateCounts {
+
+    public static final String CACHE_NAME = "rider-state-counts";
+
+    private final RiderRepository riderRepository;
+    private final Cache<String, Long> countsByState;
+
+    @Autowired
+    public RiderStateCounts(RiderRepository riderRepository,
+                            @Value("${rider.state-count.expire-after-write}") Duration expireAfterWrite,
+                            @Value("${rider.state-count.maximum-size}") long maximumSize,
+                            MeterRegistry meterRegistry) {
+        this(riderRepository, expireAfterWrite, maximumSize, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, countsByState, CACHE_NAME);
+    }
+
+    // Counts are loaded once with COUNT(*) and then moved by the writes committed through RiderService.
+    // A load racing a commit, or a write made outside the service, can leave a count off by a few rows,
+    // so entries still expire and get reloaded instead of drifting forever.
+    RiderStateCounts(RiderRepository riderRepository, Duration expireAfterWrite, long maximumSize, Ticker ticker) {
+        this.riderRepository = riderRepository;
+        this.countsByState = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public long count(String state) {
+        Long count = countsByState.getIfPresent(state);
+        if (count == null) {
+            count = riderRepository.countByState(state);
+            countsByState.put(state, count);
+        }
+        return count;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStateChanged(RiderStateChangedEvent event) {
+        adjust(event.previousState(), -1);
+        adjust(event.currentState(), 1);
+    }
+
+    void invalidateAll() {
+        countsByState.invalidateAll();
+    }
+
+    private void adjust(String state, long delta) {
+        if (state != null) {
+            countsByState.asMap().computeIfPresent(state, (key, count) -> Math.max(count + delta, 0));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.rastrodeliberdade.rider_service.service;
+
+import br.com.rastrodeliberdade.rider_service.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+record RiderStateCursor(RiderStateSort sort, String key, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    // The key goes last because cities and nicknames may contain the separator themselves.
+    String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static RiderStateCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            return new RiderStateCursor(
+                    RiderStateSort.valueOf(parts[0]),
+                    parts[2],
+                    UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Cursor de paginação inválido: " + token, e);
+        }
+    }
+}
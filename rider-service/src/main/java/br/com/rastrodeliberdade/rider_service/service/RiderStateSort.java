@@ -0,0 +1,38 @@
+package br.com.rastrodeliberdade.rider_service.service;
+
+import br.com.rastrodeliberdade.rider_service.exception.BusinessException;
+import br.com.rastrodeliberdade.rider_service.repository.RiderSummaryRow;
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+enum RiderStateSort {
+    // Nicknames are unique, so they need no id tie-breaker to give a stable order.
+    CITY(Sort.by("city", "id"), RiderSummaryRow::city),
+    NICKNAME(Sort.by("bikerNickname"), RiderSummaryRow::bikerNickname);
+
+    private final Sort sort;
+    private final Function<RiderSummaryRow, String> key;
+
+    RiderStateSort(Sort sort, Function<RiderSummaryRow, String> key) {
+        this.sort = sort;
+        this.key = key;
+    }
+
+    Sort sort() {
+        return sort;
+    }
+
+    String key(RiderSummaryRow row) {
+        return key.apply(row);
+    }
+
+    static RiderStateSort from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Ordenação inválida: " + value + ". Use city ou nickname", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.rastrodeliberdade.rider_service.tracing;
+
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+// Spring Data builds repository proxies itself, so the tracing advice is added through its factory, the same
+// hook Spring Boot uses for the repository invocation metrics.
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public RepositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new TracingInterceptor(tracer,
+                            "repository", repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+}
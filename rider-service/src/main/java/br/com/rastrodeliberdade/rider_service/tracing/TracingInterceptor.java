@@ -0,0 +1,62 @@
+package br.com.rastrodeliberdade.rider_service.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.stream.BaseStream;
+
+// Wraps each call in a span named "<type>.<method>", tagged with the layer and, for collections, the rows returned.
+// A returned stream is read after the call, so its span stays open until the caller closes the stream.
+public class TracingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<Tracer> tracer;
+    private final String layer;
+    private final String typeName;
+
+    public TracingInterceptor(ObjectProvider<Tracer> tracer, String layer, String typeName) {
+        this.tracer = tracer;
+        this.layer = layer;
+        this.typeName = typeName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer currentTracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        Span span = currentTracer.nextSpan()
+                .name(spanTypeName(invocation) + "." + invocation.getMethod().getName())
+                .tag("layer", layer)
+                .start();
+        boolean endOnClose = false;
+        try (Tracer.SpanInScope ignored = currentTracer.withSpan(span)) {
+            Object result = invocation.proceed();
+            if (result instanceof Collection<?> rows) {
+                span.tag("rows", rows.size());
+            }
+            if (result instanceof BaseStream<?, ?> stream) {
+                BaseStream<?, ?> traced = stream.onClose(span::end);
+                endOnClose = true;
+                return traced;
+            }
+            return result;
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            if (!endOnClose) {
+                span.end();
+            }
+        }
+    }
+
+    private String spanTypeName(MethodInvocation invocation) {
+        if (typeName != null) {
+            return typeName;
+        }
+        return ClassUtils.getUserClass(invocation.getThis().getClass()).getSimpleName();
+    }
+}
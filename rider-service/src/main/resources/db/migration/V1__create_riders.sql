@@ -0,0 +1,19 @@
+create table riders (
+    id             uuid         not null,
+    full_name      varchar(255) not null,
+    email          varchar(255) not null,
+    biker_nickname varchar(255) not null,
+    password       varchar(255) not null,
+    city           varchar(255) not null,
+    state          varchar(255) not null,
+    register_date  timestamp(6),
+    constraint pk_riders primary key (id),
+    constraint uk_riders_email unique (email),
+    constraint uk_riders_biker_nickname unique (biker_nickname),
+    constraint ck_riders_email_lowercase check (email = lower(email))
+);
+
+-- Also serves lookups by state alone through its leading column.
+create index idx_riders_state_city on riders (state, city);
+
+create index idx_riders_register_date_id on riders (register_date, id);
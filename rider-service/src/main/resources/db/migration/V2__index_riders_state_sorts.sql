@@ -0,0 +1,6 @@
+-- Pages of a state sorted by city walk (state, city, id) in order, so the id tie-breaker of the keyset
+-- has to be part of the index; the leading state column still serves lookups by state alone.
+drop index idx_riders_state_city;
+create index idx_riders_state_city_id on riders (state, city, id);
+
+create index idx_riders_state_biker_nickname on riders (state, biker_nickname);
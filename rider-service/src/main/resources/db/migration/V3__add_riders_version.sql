@@ -0,0 +1,2 @@
+-- Optimistic locking version, also the source of the ETags served for riders. Existing rows start at 0.
+alter table riders add column version bigint not null default 0;
@@ -0,0 +1,4 @@
+-- The keyset pagination walks (register_date, id): a null register_date would fall outside every page.
+-- Rows without one get the migration time, so they sort after the riders that were already dated.
+update riders set register_date = current_timestamp where register_date is null;
+alter table riders alter column register_date set not null;
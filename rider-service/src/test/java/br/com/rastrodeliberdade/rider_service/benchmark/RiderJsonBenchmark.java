@@ -0,0 +1,70 @@
+package br.com.rastrodeliberdade.rider_service.benchmark;
+
+import br.com.rastrodeliberdade.rider_service.dto.RiderPageDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Serializes rider pages the way the controllers return them, from a single row up to a full export chunk.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RiderJsonBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiderJsonBenchmark {
+
+    private static final String[] STATES = {"Paraná", "São Paulo", "Santa Catarina", "Minas Gerais", "Bahia"};
+
+    @Param({"1", "20", "100", "1000"})
+    public int riders;
+
+    private ObjectWriter listWriter;
+    private ObjectWriter pageWriter;
+    private List<RiderSummaryDto> content;
+    private RiderPageDto page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, RiderSummaryDto.class));
+        pageWriter = objectMapper.writerFor(RiderPageDto.class);
+
+        content = new ArrayList<>(riders);
+        for (int i = 0; i < riders; i++) {
+            content.add(new RiderSummaryDto(UUID.randomUUID(), "rider." + i, "rider" + i + "@test.com",
+                    "Cidade " + (i % 50), STATES[i % STATES.length], 0L));
+        }
+        page = new RiderPageDto(content, "eyJpZCI6IjAxOTJmNGUwLTAwMDAtNzAwMC04MDAwLTAwMDAwMDAwMDAwMCJ9");
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(content);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.rastrodeliberdade.rider_service.benchmark;
+
+import br.com.rastrodeliberdade.rider_service.domain.Rider;
+import br.com.rastrodeliberdade.rider_service.dto.RiderInsertDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.mapper.RiderMapper;
+import br.com.rastrodeliberdade.rider_service.mapper.RiderMapperImpl;
+import br.com.rastrodeliberdade.rider_service.repository.RiderSummaryRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RiderMapperBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiderMapperBenchmark {
+
+    private RiderMapper riderMapper;
+    private Rider rider;
+    private RiderSummaryRow riderSummaryRow;
+    private RiderInsertDto riderInsertDto;
+
+    @Setup
+    public void setUp() {
+        riderMapper = new RiderMapperImpl();
+        LocalDateTime registerDate = LocalDateTime.of(2025, 1, 1, 0, 0);
+        rider = Rider.builder()
+                .id(UUID.randomUUID())
+                .fullName("Carlos Antonio")
+                .email("carlos@test.com")
+                .bikerNickname("carlos.antonio")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1CjJc0gJ9eQ1F4sE5e5Qv9K")
+                .city("São Paulo")
+                .state("São Paulo")
+                .registerDate(registerDate)
+                .version(3L)
+                .build();
+        riderSummaryRow = new RiderSummaryRow(rider.getId(), rider.getBikerNickname(), rider.getEmail(),
+                rider.getCity(), rider.getState(), registerDate, 3L);
+        riderInsertDto = new RiderInsertDto("Carlos Antonio", "carlos@test.com", "carlos.antonio", "12345mudar!",
+                "Curitiba", "Paraná");
+    }
+
+    @Benchmark
+    public RiderSummaryDto entityToSummary() {
+        return riderMapper.toSummaryDto(rider);
+    }
+
+    @Benchmark
+    public RiderSummaryDto rowToSummary() {
+        return riderMapper.toSummaryDto(riderSummaryRow);
+    }
+
+    @Benchmark
+    public Rider insertDtoToRider() {
+        return riderMapper.toRider(riderInsertDto);
+    }
+
+    // Reuses the same entity on every call; the mapper only assigns fields, so the state it leaves is stable.
+    @Benchmark
+    public Rider updateRiderFromDto() {
+        return riderMapper.updateRiderFromDto(riderInsertDto, rider);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.rastrodeliberdade.rider_service.benchmark;
+
+import br.com.rastrodeliberdade.rider_service.RiderServiceApplication;
+import br.com.rastrodeliberdade.rider_service.domain.Rider;
+import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderStatePageDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.mapper.RiderMapper;
+import br.com.rastrodeliberdade.rider_service.repository.RiderRepository;
+import br.com.rastrodeliberdade.rider_service.service.RiderService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Compares the entity + mapper read paths RiderService used before with the DTO projections it uses now.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RiderReadBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiderReadBenchmark {
+
+    private static final String[] STATES = {"Paraná", "São Paulo", "Santa Catarina", "Minas Gerais", "Bahia"};
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1CjJc0gJ9eQ1F4sE5e5Qv9K";
+
+    @Param({"1000", "10000"})
+    public int riders;
+
+    private ConfigurableApplicationContext context;
+    private RiderService riderService;
+    private RiderMapper riderMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(RiderServiceApplication.class,
+                "--server.port=0", "--jwt.jwks-uri=", "--logging.level.root=WARN", "--rider.cache.enabled=false");
+        riderService = context.getBean(RiderService.class);
+        riderMapper = context.getBean(RiderMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        List<Object[]> rows = new ArrayList<>(riders);
+        LocalDateTime registerDate = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < riders; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), "Rider " + i, "rider" + i + "@test.com", "rider." + i,
+                    PASSWORD_HASH, "Cidade " + (i % 50), STATES[i % STATES.length],
+                    Timestamp.valueOf(registerDate.plusMinutes(i))});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("""
+                insert into riders (id, full_name, email, biker_nickname, password, city, state, register_date)
+                values (?, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RiderSummaryDto> findByStateEntities() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select r from Rider r where r.state = :state", Rider.class)
+                .setParameter("state", STATES[0])
+                .getResultList()
+                .stream()
+                .map(riderMapper::toSummaryDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<RiderSummaryDto> findByStateProjection() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select " + RiderRepository.SUMMARY + " from Rider r where r.state = :state",
+                        RiderSummaryDto.class)
+                .setParameter("state", STATES[0])
+                .getResultList());
+    }
+
+    @Benchmark
+    public RiderStatePageDto findByStatePage() {
+        return riderService.findByState(STATES[0], "city", 0, null, 20);
+    }
+
+    @Benchmark
+    public RiderAuthDto findAuthDataEntity() {
+        return transactionTemplate.execute(status -> {
+            Rider rider = entityManager
+                    .createQuery("select r from Rider r where r.email = :email", Rider.class)
+                    .setParameter("email", "rider7@test.com")
+                    .getSingleResult();
+            return new RiderAuthDto(rider.getId(), rider.getEmail(), rider.getPassword());
+        });
+    }
+
+    @Benchmark
+    public RiderAuthDto findAuthDataProjection() {
+        return riderService.findAuthDataByEmail("rider7@test.com");
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.rastrodeliberdade.rider_service.benchmark;
+
+import br.com.rastrodeliberdade.rider_service.RiderServiceApplication;
+import br.com.rastrodeliberdade.rider_service.domain.Rider;
+import br.com.rastrodeliberdade.rider_service.domain.UuidV7;
+import br.com.rastrodeliberdade.rider_service.repository.RiderJdbcRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Inserts riders in JDBC batches with random (v4) or time-ordered (v7) ids; the score is rows/s. At the end of
+// each trial it prints the size of the riders primary key (PostgreSQL) or of the whole table (H2), per rider.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RiderWriteBenchmark
+// PostgreSQL: append "-jvmArgsAppend -Dspring.datasource.url=jdbc:postgresql://... -Dspring.datasource.username=..."
+// to -Dbenchmark, pointing at a scratch database: every trial empties the riders table.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(RiderWriteBenchmark.BATCH_SIZE)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RiderWriteBenchmark {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1CjJc0gJ9eQ1F4sE5e5Qv9K";
+
+    @Param({"RANDOM", "V7"})
+    public String idStrategy;
+
+    private ConfigurableApplicationContext context;
+    private RiderJdbcRepository riderJdbcRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Supplier<UUID> ids;
+    private Path h2Directory;
+    private long inserted;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--jwt.jwks-uri=", "--logging.level.root=WARN"));
+        if (System.getProperty("spring.datasource.url") == null) {
+            h2Directory = Files.createTempDirectory("rider-write-benchmark");
+            args.add("--spring.datasource.url=jdbc:h2:file:" + h2Directory.resolve("riders"));
+        }
+        context = SpringApplication.run(RiderServiceApplication.class, args.toArray(String[]::new));
+        riderJdbcRepository = context.getBean(RiderJdbcRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("delete from riders");
+
+        ids = "V7".equals(idStrategy) ? UuidV7::randomUuid : UUID::randomUUID;
+        inserted = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        String database = jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        long bytes;
+        String measured;
+        if ("PostgreSQL".equals(database)) {
+            jdbcTemplate.execute("vacuum analyze riders");
+            bytes = jdbcTemplate.queryForObject("select pg_relation_size('pk_riders')", Long.class);
+            measured = "pk_riders";
+        } else {
+            jdbcTemplate.execute("checkpoint sync");
+            bytes = jdbcTemplate.queryForObject("call disk_space_used('RIDERS')", Long.class);
+            measured = "riders table and indexes";
+        }
+        System.out.printf("%n%s ids: %d riders, %s %d bytes (%.1f bytes/rider)%n",
+                idStrategy, inserted, measured, bytes, (double) bytes / Math.max(inserted, 1));
+
+        context.close();
+        if (h2Directory != null) {
+            FileSystemUtils.deleteRecursively(h2Directory);
+        }
+    }
+
+    @Benchmark
+    public void insertBatch() {
+        LocalDateTime registerDate = LocalDateTime.now();
+        List<Rider> riders = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long n = inserted++;
+            riders.add(Rider.builder()
+                    .id(ids.get())
+                    .fullName("Rider " + n)
+                    .email("rider" + n + "@test.com")
+                    .bikerNickname("rider." + n)
+                    .password(PASSWORD_HASH)
+                    .city("Cidade " + (n % 50))
+                    .state("Paraná")
+                    .registerDate(registerDate)
+                    .build());
+        }
+        transactionTemplate.executeWithoutResult(status -> riderJdbcRepository.insertAll(riders));
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.rastrodeliberdade.rider_service.cache;
+
+import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.event.RiderChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderCredentialsChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderPasswordRehashedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RiderCacheTest {
+
+    private final AtomicLong fakeTime = new AtomicLong();
+    private final AtomicInteger loaderCalls = new AtomicInteger();
+
+    private RiderCache riderCache;
+    private RiderSummaryDto riderSummaryDto;
+
+    @BeforeEach
+    void setUp() {
+        riderCache = new RiderCache(true, 100, Duration.ofMinutes(10), fakeTime::get);
+        riderSummaryDto = new RiderSummaryDto(UUID.randomUUID(), "marlon.britto", "marlonb@test.com", "Maringá", "Paraná", 0L);
+    }
+
+    private <K, V> Function<K, Optional<V>> loaderReturning(Optional<V> result) {
+        return key -> {
+            loaderCalls.incrementAndGet();
+            return result;
+        };
+    }
+
+    @Test
+    @DisplayName("Should serve the id, email and nickname lookups from a single load")
+    void summary_whenLoadedByOneKey_shouldBeCachedUnderAllKeys() {
+        riderCache.summaryByEmail("marlonb@test.com", loaderReturning(Optional.of(riderSummaryDto)));
+
+        assertThat(riderCache.summaryById(riderSummaryDto.id(), loaderReturning(Optional.empty())))
+                .contains(riderSummaryDto);
+        assertThat(riderCache.summaryByNickname("marlon.britto", loaderReturning(Optional.empty())))
+                .contains(riderSummaryDto);
+        assertThat(loaderCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload the entry once the TTL has passed")
+    void summary_whenTtlHasPassed_shouldCallLoaderAgain() {
+        riderCache.summaryById(riderSummaryDto.id(), loaderReturning(Optional.of(riderSummaryDto)));
+        fakeTime.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        riderCache.summaryById(riderSummaryDto.id(), loaderReturning(Optional.of(riderSummaryDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache lookups that found no rider")
+    void summary_whenRiderIsUnknown_shouldNotBeCached() {
+        riderCache.summaryByEmail("ghost@test.com", loaderReturning(Optional.empty()));
+        riderCache.summaryByEmail("ghost@test.com", loaderReturning(Optional.empty()));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the old and new keys of a changed rider")
+    void onRiderChanged_shouldEvictEveryKeyOfTheRider() {
+        riderCache.summaryById(riderSummaryDto.id(), loaderReturning(Optional.of(riderSummaryDto)));
+
+        riderCache.onRiderChanged(new RiderChangedEvent(riderSummaryDto.id(),
+                Set.of("marlonb@test.com", "marlonb.updated@test.com"), Set.of("marlon.britto")));
+
+        riderCache.summaryById(riderSummaryDto.id(), loaderReturning(Optional.of(riderSummaryDto)));
+        riderCache.summaryByEmail("marlonb@test.com", loaderReturning(Optional.of(riderSummaryDto)));
+        assertThat(riderCache.estimatedSize()).isEqualTo(3);
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload auth data after the credentials of the rider changed")
+    void onCredentialsChanged_shouldEvictAuthData() {
+        RiderAuthDto riderAuthDto = new RiderAuthDto(riderSummaryDto.id(), "marlonb@test.com", "hashed-password");
+
+        riderCache.authDataByEmail("marlonb@test.com", loaderReturning(Optional.of(riderAuthDto)));
+        riderCache.authDataByEmail("marlonb@test.com", loaderReturning(Optional.of(riderAuthDto)));
+        riderCache.onCredentialsChanged(new RiderCredentialsChangedEvent(Set.of("marlonb@test.com")));
+        riderCache.authDataByEmail("marlonb@test.com", loaderReturning(Optional.of(riderAuthDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload auth data after the password hash of the rider was re-encoded")
+    void onPasswordRehashed_shouldEvictAuthData() {
+        RiderAuthDto riderAuthDto = new RiderAuthDto(riderSummaryDto.id(), "marlonb@test.com", "hashed-password");
+
+        riderCache.authDataByEmail("marlonb@test.com", loaderReturning(Optional.of(riderAuthDto)));
+        riderCache.onPasswordRehashed(new RiderPasswordRehashedEvent("marlonb@test.com"));
+        riderCache.authDataByEmail("marlonb@test.com", loaderReturning(Optional.of(riderAuthDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict entries when the maximum size is exceeded")
+    void summary_whenMaximumSizeIsExceeded_shouldEvict() {
+        RiderCache smallCache = new RiderCache(true, 2, Duration.ofMinutes(10), fakeTime::get);
+
+        for (int i = 0; i < 10; i++) {
+            smallCache.authDataByEmail("rider" + i + "@test.com",
+                    loaderReturning(Optional.of(new RiderAuthDto(UUID.randomUUID(), "rider" + i + "@test.com", "hash"))));
+        }
+
+        assertThat(smallCache.estimatedSize()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should always call the loader when the cache is disabled")
+    void summary_whenDisabled_shouldAlwaysCallLoader() {
+        RiderCache disabledCache = new RiderCache(false, 100, Duration.ofMinutes(10), fakeTime::get);
+
+        disabledCache.summaryById(riderSummaryDto.id(), loaderReturning(Optional.of(riderSummaryDto)));
+        disabledCache.summaryById(riderSummaryDto.id(), loaderReturning(Optional.of(riderSummaryDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache a lookup that raced with an eviction")
+    void summary_whenEvictedDuringLoad_shouldNotCacheLoadedValue() {
+        riderCache.summaryById(riderSummaryDto.id(), id -> {
+            loaderCalls.incrementAndGet();
+            riderCache.onRiderChanged(new RiderChangedEvent(id, Set.of(), Set.of()));
+            return Optional.of(riderSummaryDto);
+        });
+        riderCache.summaryById(riderSummaryDto.id(), loaderReturning(Optional.of(riderSummaryDto)));
+
+        assertThat(loaderCalls.get()).isEqualTo(2);
+    }
+}
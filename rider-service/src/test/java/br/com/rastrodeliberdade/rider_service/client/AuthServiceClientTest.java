@@ -0,0 +1,52 @@
+package br.com.rastrodeliberdade.rider_service.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withNoContent;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+
+class AuthServiceClientTest {
+
+    private MockRestServiceServer mockServer;
+    private AuthServiceClient authServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+        authServiceClient = new AuthServiceClient(restTemplate, "http://auth-service");
+    }
+
+    @Test
+    @DisplayName("Should call the auth-service cache eviction endpoint with every email")
+    void evictRiderAuthCache_shouldCallDeleteWithEveryEmail() {
+        mockServer.expect(requestTo("http://auth-service/internal/cache/riders?email=old%40test.com&email=new%2Btag%40test.com"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withNoContent());
+
+        authServiceClient.evictRiderAuthCache(List.of("old@test.com", "new+tag@test.com"));
+
+        mockServer.verify();
+    }
+
+    @Test
+    @DisplayName("Should propagate the error when auth-service fails to evict")
+    void evictRiderAuthCache_whenAuthServiceFails_shouldThrow() {
+        mockServer.expect(requestTo("http://auth-service/internal/cache/riders?email=old%40test.com"))
+                .andRespond(withServerError());
+
+        assertThatThrownBy(() -> authServiceClient.evictRiderAuthCache(List.of("old@test.com")))
+                .isInstanceOf(HttpServerErrorException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.rastrodeliberdade.rider_service.config;
+
+import br.com.rastrodeliberdade.rider_service.dto.RiderPageDto;
+import br.com.rastrodeliberdade.rider_service.service.RiderService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=jfr")
+@AutoConfigureMockMvc
+@WithMockUser("carlos.antonio@test.com")
+class JfrEndpointTest {
+
+    private static final String RIDER_QUERY = "br.com.rastrodeliberdade.rider.RiderQuery";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RiderService riderService;
+
+    @Test
+    @DisplayName("Should record rider query events and dump them after the recording is stopped")
+    void startStopDump_shouldReturnRecordingWithRiderQueryEvents() throws Exception {
+        mockMvc.perform(post("/actuator/jfr")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\":\"default\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.settings").value("default"));
+
+        RiderPageDto page = riderService.findAllRider(null, 10);
+        AtomicLong streamed = new AtomicLong();
+        riderService.streamAllRider(rider -> streamed.incrementAndGet());
+
+        mockMvc.perform(delete("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+        byte[] dump = mockMvc.perform(get("/actuator/jfr/dump"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.createTempFile("jfr-endpoint-test", ".jfr");
+        try {
+            Files.write(file, dump);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Map<String, RecordedEvent> queries = events.stream()
+                    .filter(event -> event.getEventType().getName().equals(RIDER_QUERY))
+                    .collect(Collectors.toMap(event -> event.getString("operation"), Function.identity(), (a, b) -> a));
+
+            assertThat(queries.get("RiderService.findAllRider").getLong("rows")).isEqualTo(page.content().size());
+            assertThat(queries.get("RiderService.streamAllRider").getLong("rows")).isEqualTo(streamed.get());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unknown recording settings")
+    void start_withUnknownSettings_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/actuator/jfr")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"settings\":\"nonexistent\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
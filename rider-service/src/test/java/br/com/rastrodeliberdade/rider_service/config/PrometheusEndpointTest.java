@@ -0,0 +1,48 @@
+package br.com.rastrodeliberdade.rider_service.config;
+
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class PrometheusEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Value("${internal.service.token}")
+    private String internalServiceToken;
+
+    @Test
+    @DisplayName("Should expose route, repository, hashing and connection pool metrics in Prometheus format")
+    void prometheus_afterRiderLookup_shouldExposeLatencyHistogramsAndPoolGauges() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(InternalServiceToken.HEADER, internalServiceToken);
+        restTemplate.exchange("/rider/internal/by-email?email=ghost@test.com", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .containsPattern("http_server_requests_seconds_bucket\\{application=\"rider-service\".*"
+                        + "uri=\"/rider/internal/by-email\"")
+                .containsPattern("spring_data_repository_invocations_seconds_bucket\\{application=\"rider-service\".*"
+                        + "method=\"findAuthDataByEmail\",repository=\"RiderRepository\"")
+                .containsPattern("password_hashing_duration_seconds_bucket\\{application=\"rider-service\"")
+                .containsPattern("hikaricp_connections_active\\{application=\"rider-service\"");
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.rastrodeliberdade.rider_service.config;
+
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureObservability
+class TracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+    private static final Path SPAN_FILE = createSpanFile();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Value("${internal.service.token}")
+    private String internalServiceToken;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Path createSpanFile() {
+        try {
+            return Files.createTempFile("rider-service-spans", ".jsonl");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void spanFile(DynamicPropertyRegistry registry) {
+        registry.add("tracing.export.file.path", SPAN_FILE::toString);
+    }
+
+    @Test
+    @DisplayName("Should continue the caller's trace through the controller, service and repository spans")
+    void internalLookup_withTraceparent_shouldExportNestedSpansInCallerTrace() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("traceparent", "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01");
+        headers.add(InternalServiceToken.HEADER, internalServiceToken);
+
+        restTemplate.exchange("/rider/internal/by-email?email=ghost@test.com", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        List<JsonNode> spans = Files.readAllLines(SPAN_FILE).stream()
+                .map(this::readSpan)
+                .filter(span -> span.get("traceId").asText().equals(TRACE_ID))
+                .toList();
+        Map<String, JsonNode> spansByName = spans.stream()
+                .collect(Collectors.toMap(span -> span.get("name").asText(), Function.identity(), (a, b) -> a));
+        Map<String, String> parentIds = spans.stream()
+                .filter(span -> !span.get("parentSpanId").isNull())
+                .collect(Collectors.toMap(span -> span.get("spanId").asText(), span -> span.get("parentSpanId").asText()));
+
+        JsonNode controllerSpan = spansByName.get("http get /rider/internal/by-email");
+        JsonNode serviceSpan = spansByName.get("RiderService.findAuthDataByEmail");
+        JsonNode repositorySpan = spansByName.get("RiderRepository.findAuthDataByEmail");
+
+        assertThat(controllerSpan.get("parentSpanId").asText()).isEqualTo(CALLER_SPAN_ID);
+        assertThat(ancestors(serviceSpan.get("spanId").asText(), parentIds)).contains(controllerSpan.get("spanId").asText());
+        assertThat(repositorySpan.get("parentSpanId").asText()).isEqualTo(serviceSpan.get("spanId").asText());
+        assertThat(repositorySpan.get("attributes").get("layer").asText()).isEqualTo("repository");
+        assertThat(serviceSpan.get("status").asText()).isEqualTo("ERROR");
+    }
+
+    // Spring Security's own spans sit between the request span and the service span.
+    private static List<String> ancestors(String spanId, Map<String, String> parentIds) {
+        List<String> ancestors = new ArrayList<>();
+        for (String parentId = parentIds.get(spanId); parentId != null; parentId = parentIds.get(parentId)) {
+            ancestors.add(parentId);
+        }
+        return ancestors;
+    }
+
+    private JsonNode readSpan(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
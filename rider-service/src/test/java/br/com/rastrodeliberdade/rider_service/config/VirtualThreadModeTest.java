@@ -0,0 +1,73 @@
+package br.com.rastrodeliberdade.rider_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual")
+class VirtualThreadModeTest {
+
+    @TestConfiguration
+    static class RequestThreadRecorder {
+        private final AtomicReference<Thread> lastRequestThread = new AtomicReference<>();
+
+        @Bean
+        AtomicReference<Thread> lastRequestThread() {
+            return lastRequestThread;
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> requestThreadRecordingFilter() {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                lastRequestThread.set(Thread.currentThread());
+                chain.doFilter(request, response);
+            });
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AtomicReference<Thread> lastRequestThread;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should handle requests on virtual threads when the virtual profile is active")
+    void request_withVirtualProfile_shouldRunOnVirtualThread() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/health", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(lastRequestThread.get().isVirtual()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should size the connection pool for virtual threads when the virtual profile is active")
+    void dataSource_withVirtualProfile_shouldUseVirtualThreadPoolSizing() {
+        HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+
+        assertThat(hikariDataSource.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(hikariDataSource.getConnectionTimeout()).isEqualTo(2000);
+    }
+}
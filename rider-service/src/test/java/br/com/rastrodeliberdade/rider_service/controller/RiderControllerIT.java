@@ -1,36 +1,57 @@
 package br.com.rastrodeliberdade.rider_service.controller;
 
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import br.com.rastrodeliberdade.auth_token_verifier.HmacKeys;
 import br.com.rastrodeliberdade.rider_service.domain.Rider;
 import br.com.rastrodeliberdade.rider_service.dto.RiderInsertDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
 import br.com.rastrodeliberdade.rider_service.exception.ResourceNotFoundException;
 import br.com.rastrodeliberdade.rider_service.repository.RiderRepository;
 import br.com.rastrodeliberdade.rider_service.service.RiderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
-
+@WithMockUser("carlos.antonio@test.com")
 @Transactional
 public class RiderControllerIT {
     @Autowired
@@ -48,6 +69,12 @@ public class RiderControllerIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${internal.service.token}")
+    private String internalServiceToken;
+
     private Rider existingRider;
 
     @BeforeEach
@@ -82,7 +109,7 @@ public class RiderControllerIT {
                 riderInsertDto.bikerNickname(),
                 riderInsertDto.email(),
                 riderInsertDto.city(),
-                riderInsertDto.state()
+                riderInsertDto.state(), 0L
         );
 
         mockMvc.perform(post("/rider")
@@ -98,6 +125,12 @@ public class RiderControllerIT {
 
     }
 
+    @Test
+    @DisplayName("Should assign time-ordered version 7 ids to new riders")
+    void insert_AssignVersion7Id_WhenRiderIsSaved() {
+        assertThat(existingRider.getId().version()).isEqualTo(7);
+    }
+
     @Test
     @DisplayName("Should return 400 Business Exception when call insert with existing email")
     void insert_Return400BusinessException_WhenEmailAlreadyExists() throws Exception{
@@ -151,11 +184,68 @@ public class RiderControllerIT {
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.[0].id").value(existingRider.getId().toString()))
-                .andExpect(jsonPath("$.[0].bikerNickname").value(existingRider.getBikerNickname()))
-                .andExpect(jsonPath("$.[0].email").value(existingRider.getEmail()))
-                .andExpect(jsonPath("$.[0].city").value(existingRider.getCity()))
-                .andExpect(jsonPath("$.[0].state").value(existingRider.getState()));
+                .andExpect(jsonPath("$.content[0].id").value(existingRider.getId().toString()))
+                .andExpect(jsonPath("$.content[0].bikerNickname").value(existingRider.getBikerNickname()))
+                .andExpect(jsonPath("$.content[0].email").value(existingRider.getEmail()))
+                .andExpect(jsonPath("$.content[0].city").value(existingRider.getCity()))
+                .andExpect(jsonPath("$.content[0].state").value(existingRider.getState()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return every rider exactly once when following the next cursor page by page")
+    void findAll_ReturnEveryRiderOnce_WhenFollowingNextCursor() throws Exception{
+        for (int i = 0; i < 4; i++) {
+            riderRepository.save(Rider.builder()
+                    .fullName("Rider " + i)
+                    .email("rider" + i + "@test.com")
+                    .bikerNickname("rider." + i)
+                    .password("hash")
+                    .city("Curitiba")
+                    .state("Paraná")
+                    .build());
+        }
+
+        Set<String> seenIds = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/rider").param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+
+            page.get("content").forEach(rider -> assertThat(seenIds.add(rider.get("id").asText())).isTrue());
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seenIds).hasSize(5);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should return 400 Business Exception when call findAll with an invalid cursor")
+    void findAll_Return400BusinessException_WhenCursorIsInvalid() throws Exception{
+        mockMvc.perform(get("/rider").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor de paginação inválido: not-a-cursor"));
+    }
+
+    @Test
+    @DisplayName("Should return 200 Ok and stream every rider as NDJSON when call streamAll")
+    void streamAll_Return200OkAndNdjson_WhenEverythingIsOk() throws Exception{
+        String body = mockMvc.perform(get("/rider/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo(existingRider.getId().toString());
     }
 
     @Test
@@ -197,7 +287,8 @@ public class RiderControllerIT {
                 existingRider.getBikerNickname(),
                 existingRider.getEmail(),
                 existingRider.getCity(),
-                existingRider.getState());
+                existingRider.getState(),
+                existingRider.getVersion());
 
         mockMvc.perform(get("/rider/search/by-email?email=carlos.antonio@test.com")
                         .with(csrf())
@@ -226,6 +317,61 @@ public class RiderControllerIT {
 
     }
 
+    @Test
+    @DisplayName("IT: Should Return 200 Ok and RiderSummaryDto when call findByNickname and everything is ok")
+    void findByNickname_Return200OkAndRiderSummary_WhenEverythingIsOK() throws Exception{
+        mockMvc.perform(get("/rider/search/by-nickname")
+                        .param("nickname", existingRider.getBikerNickname())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(existingRider.getId().toString()))
+                .andExpect(jsonPath("$.email").value(existingRider.getEmail()));
+    }
+
+    @Test
+    @DisplayName("IT: Should revalidate findById against the rider version")
+    void findById_Return304NotModified_UntilRiderIsUpdated() throws Exception{
+        String etag = mockMvc.perform(get("/rider/{id}", existingRider.getId()).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(csrf()))
+                .andExpect(status().isNotModified());
+
+        RiderInsertDto riderUpdateDto = new RiderInsertDto(existingRider.getFullName(), existingRider.getEmail(),
+                existingRider.getBikerNickname(), null, "Campinas", existingRider.getState());
+        riderService.updateRider(riderUpdateDto, existingRider.getId(), null);
+
+        mockMvc.perform(get("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.city").value("Campinas"));
+    }
+
+    @Test
+    @DisplayName("IT: Should return the updated rider from findById right after an update")
+    void findById_ReturnUpdatedRider_AfterUpdate() throws Exception{
+        mockMvc.perform(get("/rider/{id}", existingRider.getId()).with(csrf()))
+                .andExpect(status().isOk());
+
+        RiderInsertDto riderUpdateDto = new RiderInsertDto(existingRider.getFullName(), "carlos.novo@test.com",
+                existingRider.getBikerNickname(), null, "Campinas", existingRider.getState());
+        riderService.updateRider(riderUpdateDto, existingRider.getId(), null);
+
+        mockMvc.perform(get("/rider/{id}", existingRider.getId()).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("carlos.novo@test.com"))
+                .andExpect(jsonPath("$.city").value("Campinas"));
+        mockMvc.perform(get("/rider/search/by-email?email=carlos.antonio@test.com").with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should return 200 Ok and a list of riders when call findByState and everything is ok")
     void findByState_Return200OkAndListOfRiders_WhenEverythingIsOk() throws Exception {
@@ -236,9 +382,46 @@ public class RiderControllerIT {
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(1))
-                .andExpect(jsonPath("$.[0].id").value(existingRider.getId().toString()))
-                .andExpect(jsonPath("$.[0].state").value(stateToFind));
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(existingRider.getId().toString()))
+                .andExpect(jsonPath("$.content[0].state").value(stateToFind))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should walk every rider of the state sorted by nickname when following the returned cursors")
+    void findByState_ReturnEveryRiderOnce_WhenFollowingCursors() throws Exception {
+        String stateToFind = "Goiás";
+        for (String nickname : new String[]{"bruno.lima", "ana.souza", "duda.alves", "carla.dias"}) {
+            riderRepository.save(Rider.builder()
+                    .fullName(nickname)
+                    .email(nickname + "@test.com")
+                    .bikerNickname(nickname)
+                    .password(existingRider.getPassword())
+                    .city("Goiânia")
+                    .state(stateToFind)
+                    .build());
+        }
+
+        List<String> nicknames = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/rider/search/by-state")
+                    .param("state", stateToFind)
+                    .param("sort", "nickname")
+                    .param("size", "3");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request.with(csrf()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(rider -> nicknames.add(rider.get("bikerNickname").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(nicknames).containsExactly("ana.souza", "bruno.lima", "carla.dias", "duda.alves");
     }
 
     @Test
@@ -251,7 +434,8 @@ public class RiderControllerIT {
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(0));
+                .andExpect(jsonPath("$.content.size()").value(0))
+                .andExpect(jsonPath("$.totalElements").value(0));
     }
 
     @Test
@@ -278,6 +462,49 @@ public class RiderControllerIT {
                 .andExpect(jsonPath("$.city").value(riderUpdateDto.city()));
     }
 
+    @Test
+    @DisplayName("IT: Should apply an update only to the version informed in If-Match")
+    void update_Return412PreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        RiderInsertDto riderUpdateDto = new RiderInsertDto(existingRider.getFullName(), existingRider.getEmail(),
+                existingRider.getBikerNickname(), "12345mudar!", "Campinas", existingRider.getState());
+
+        mockMvc.perform(put("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(riderUpdateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(riderUpdateDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    @DisplayName("IT: Should change only the patched fields and keep the password hash")
+    void patch_Return200OkAndKeepPassword_WhenPasswordIsAbsent() throws Exception {
+        String previousPasswordHash = existingRider.getPassword();
+
+        mockMvc.perform(patch("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"city\":\"Campinas\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.city").value("Campinas"))
+                .andExpect(jsonPath("$.email").value(existingRider.getEmail()));
+
+        Rider patchedRider = riderRepository.findById(existingRider.getId()).orElseThrow();
+        assertThat(patchedRider.getPassword()).isEqualTo(previousPasswordHash);
+        assertThat(patchedRider.getFullName()).isEqualTo("Carlos Antonio");
+    }
+
     @Test
     @DisplayName("Should return 404 Not Found when call update with a non-existing id")
     void update_Return404NotFound_WhenIdNonExisting() throws Exception {
@@ -390,6 +617,7 @@ public class RiderControllerIT {
         String existingEmail = existingRider.getEmail();
 
         mockMvc.perform(get("/rider/internal/by-email")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
                         .param("email", existingEmail)
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
@@ -399,16 +627,115 @@ public class RiderControllerIT {
                 .andExpect(jsonPath("$.password").value(existingRider.getPassword()));
     }
 
+    @Test
+    @WithAnonymousUser
+    @DisplayName("IT: Should return 401 Unauthorized and no password hash when findAuthDataByEmail is called anonymously")
+    void findAuthDataByEmail_withoutInternalServiceToken_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/rider/internal/by-email")
+                        .param("email", existingRider.getEmail()))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("IT: Should return 404 Not Found when findAuthDataByEmail is called with a non-existing email")
     void findAuthDataByEmail_withNonExistingEmail_shouldReturnNotFound() throws Exception {
         String nonExistingEmail = "ghost@test.com";
 
         mockMvc.perform(get("/rider/internal/by-email")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
                         .param("email", nonExistingEmail)
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should stream one result per NDJSON line when call import with new, duplicated and invalid riders")
+    void importRiders_ReturnResultPerLine_WhenBodyIsNdjson() throws Exception {
+        String body = String.join("\n",
+                "{\"fullName\":\"João Silva\",\"email\":\"Joao.Silva@test.com\",\"bikerNickname\":\"joao.silva\",\"password\":\"12345mudar!\",\"city\":\"Curitiba\",\"state\":\"Paraná\"}",
+                "{\"fullName\":\"Outro Carlos\",\"email\":\"CARLOS.ANTONIO@test.com\",\"bikerNickname\":\"outro.carlos\",\"password\":\"12345mudar!\",\"city\":\"Curitiba\",\"state\":\"Paraná\"}",
+                "{\"fullName\":\"João Repetido\",\"email\":\"joao.silva@test.com\",\"bikerNickname\":\"joao.repetido\",\"password\":\"12345mudar!\",\"city\":\"Curitiba\",\"state\":\"Paraná\"}",
+                "",
+                "{\"fullName\":\"Senha Curta\",\"email\":\"senha.curta@test.com\",\"bikerNickname\":\"senha.curta\",\"password\":\"123\",\"city\":\"Curitiba\",\"state\":\"Paraná\"}",
+                "{not json");
+
+        String response = mockMvc.perform(post("/rider/import")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> results = response.lines().map(this::readTree).toList();
+        assertThat(results).extracting(result -> result.get("line").asLong()).containsExactly(1L, 2L, 3L, 5L, 6L);
+        assertThat(results).extracting(result -> result.get("status").asText())
+                .containsExactly("CREATED", "DUPLICATE", "DUPLICATE", "INVALID", "INVALID");
+        assertThat(results.get(1).get("message").asText()).contains("carlos.antonio@test.com");
+        assertThat(results.get(3).get("message").asText()).contains("password");
+
+        RiderSummaryDto imported = riderService.findByEmail("joao.silva@test.com");
+        assertThat(imported.id().toString()).isEqualTo(results.get(0).get("id").asText());
+        assertThat(passwordEncoder.matches("12345mudar!",
+                riderRepository.findById(imported.id()).orElseThrow().getPassword())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should import riders from CSV with quoted fields when call import with text/csv")
+    void importRiders_ReturnCreated_WhenBodyIsCsv() throws Exception {
+        String body = """
+                email,fullName,bikerNickname,password,city,state
+                maria.santos@test.com,"Santos, Maria",maria.santos,12345mudar!,Londrina,Paraná
+                ana.souza@test.com,Ana Souza,carlos.antonio,12345mudar!,Londrina,Paraná
+                """;
+
+        String response = mockMvc.perform(post("/rider/import")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
+                        .with(csrf())
+                        .contentType("text/csv;charset=UTF-8")
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> results = response.lines().map(this::readTree).toList();
+        assertThat(results).extracting(result -> result.get("status").asText()).containsExactly("CREATED", "DUPLICATE");
+        assertThat(results.get(1).get("message").asText()).contains("nickname: carlos.antonio");
+        assertThat(riderService.findByEmail("maria.santos@test.com").city()).isEqualTo("Londrina");
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should verify the auth-service token locally and return 200 Ok when call findById with it")
+    void findById_Return200Ok_WhenAuthServiceTokenIsValid() throws Exception{
+        String token = Jwts.builder()
+                .setHeaderParam("kid", HmacKeys.keyId(jwtSecret))
+                .setSubject(existingRider.getEmail())
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(HmacKeys.fromSecret(jwtSecret), SignatureAlgorithm.HS512)
+                .compact();
+
+        mockMvc.perform(get("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(existingRider.getEmail()));
+    }
+
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should return 401 Unauthorized when call findById without a token")
+    void findById_Return401Unauthorized_WhenTokenIsMissing() throws Exception{
+        mockMvc.perform(get("/rider/{id}", existingRider.getId()))
+                .andExpect(status().isUnauthorized());
+    }
 }
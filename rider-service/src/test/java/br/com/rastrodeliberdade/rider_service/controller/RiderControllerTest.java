@@ -1,30 +1,53 @@
 package br.com.rastrodeliberdade.rider_service.controller;
 
+import br.com.rastrodeliberdade.auth_token_verifier.InternalServiceToken;
+import br.com.rastrodeliberdade.auth_token_verifier.InvalidTokenException;
+import br.com.rastrodeliberdade.auth_token_verifier.TokenVerifier;
+import br.com.rastrodeliberdade.auth_token_verifier.VerifiedToken;
 import br.com.rastrodeliberdade.rider_service.domain.Rider;
 import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderImportResultDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderImportStatus;
 import br.com.rastrodeliberdade.rider_service.dto.RiderInsertDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPageDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPasswordRehashDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPatchDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderStatePageDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
 import br.com.rastrodeliberdade.rider_service.exception.BusinessException;
+import br.com.rastrodeliberdade.rider_service.exception.PreconditionFailedException;
 import br.com.rastrodeliberdade.rider_service.exception.ResourceNotFoundException;
 import br.com.rastrodeliberdade.rider_service.mapper.RiderMapper;
+import br.com.rastrodeliberdade.rider_service.service.RiderImportFormat;
+import br.com.rastrodeliberdade.rider_service.service.RiderImportService;
 import br.com.rastrodeliberdade.rider_service.service.RiderService;
+import br.com.rastrodeliberdade.service_commons.security.PasswordHashingUnavailableException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.Reader;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import br.com.rastrodeliberdade.rider_service.config.SecurityConfig;
 import org.springframework.context.annotation.Import;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,6 +57,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 
 @WebMvcTest(RiderController.class)
 @Import({SecurityConfig.class})
+@WithMockUser("marlonb@test.com")
 public class RiderControllerTest {
 
     @Autowired
@@ -51,6 +75,15 @@ public class RiderControllerTest {
     @MockitoBean
     private RiderService riderService;
 
+    @MockitoBean
+    private RiderImportService riderImportService;
+
+    @MockitoBean
+    private TokenVerifier tokenVerifier;
+
+    @Value("${internal.service.token}")
+    private String internalServiceToken;
+
     private Rider existingRider;
 
     @BeforeEach
@@ -84,7 +117,7 @@ public class RiderControllerTest {
                 riderInsertDto.bikerNickname(),
                 riderInsertDto.email(),
                 riderInsertDto.city(),
-                riderInsertDto.state()
+                riderInsertDto.state(), 0L
         );
 
         given(riderService.insertRider(any(RiderInsertDto.class))).willReturn(expectedRiderSummaryDto);
@@ -152,6 +185,31 @@ public class RiderControllerTest {
                 .andExpect(jsonPath("$.message").value("já existe um usuário cadastrado com o nickname: "+riderInsertDto.bikerNickname()));
     }
 
+    @Test
+    @DisplayName("Should return 503 Service Unavailable when call insert and password hashing is saturated")
+    void insert_Return503ServiceUnavailable_WhenPasswordHashingIsSaturated() throws Exception{
+        RiderInsertDto riderInsertDto = new RiderInsertDto(
+                "João Silva",
+                "joao.silva@test.com",
+                "joao.silva",
+                "12345mudar!",
+                "São Paulo",
+                "São Paulo"
+        );
+
+        given(riderService.insertRider(riderInsertDto)).willThrow(new PasswordHashingUnavailableException(
+                "Serviço de senhas sobrecarregado, tente novamente em instantes", null));
+
+        mockMvc.perform(post("/rider")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(riderInsertDto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.error").value("Serviço temporariamente indisponível"));
+    }
+
     @Test
     @DisplayName("Should return 200 Ok and an list of riders when call findAll and everything is ok")
     void findAll_ReturnListOfRider_WhenEverythingIsOK() throws Exception{
@@ -177,8 +235,8 @@ public class RiderControllerTest {
 
         List<Rider> existingRiderList = List.of(fakeRider1,fakeRider2);
 
-        RiderSummaryDto fakeDto1 = new RiderSummaryDto(fakeRider1.getId(),"joao.silva", "joao.silva@test.com", "Maringá", "Paraná");
-        RiderSummaryDto fakeDto2 = new RiderSummaryDto(fakeRider2.getId(),"paulo.carvalho", "paulo.carvalho@test.com", "Cascavel", "Paraná");
+        RiderSummaryDto fakeDto1 = new RiderSummaryDto(fakeRider1.getId(),"joao.silva", "joao.silva@test.com", "Maringá", "Paraná", 0L);
+        RiderSummaryDto fakeDto2 = new RiderSummaryDto(fakeRider2.getId(),"paulo.carvalho", "paulo.carvalho@test.com", "Cascavel", "Paraná", 0L);
 
         List<RiderSummaryDto> expectedRiderList = List.of(fakeDto1, fakeDto2);
 
@@ -186,20 +244,63 @@ public class RiderControllerTest {
         when(riderMapper.toSummaryDto(fakeRider1)).thenReturn(fakeDto1);
         when(riderMapper.toSummaryDto(fakeRider2)).thenReturn(fakeDto2);
 
-        given(riderService.findAllRider()).willReturn(expectedRiderList);
+        given(riderService.findAllRider(null, 20)).willReturn(new RiderPageDto(expectedRiderList, "next-cursor"));
 
         mockMvc.perform(get("/rider")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.[0].id").value(expectedRiderList.get(0).id().toString()))
-                .andExpect(jsonPath("$.[0].bikerNickname").value(expectedRiderList.get(0).bikerNickname()))
-                .andExpect(jsonPath("$.[0].email").value(expectedRiderList.get(0).email()))
-                .andExpect(jsonPath("$.[0].city").value(expectedRiderList.get(0).city()))
-                .andExpect(jsonPath("$.[0].state").value(expectedRiderList.get(0).state()));
+                .andExpect(jsonPath("$.content[0].id").value(expectedRiderList.get(0).id().toString()))
+                .andExpect(jsonPath("$.content[0].bikerNickname").value(expectedRiderList.get(0).bikerNickname()))
+                .andExpect(jsonPath("$.content[0].email").value(expectedRiderList.get(0).email()))
+                .andExpect(jsonPath("$.content[0].city").value(expectedRiderList.get(0).city()))
+                .andExpect(jsonPath("$.content[0].state").value(expectedRiderList.get(0).state()))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+
+        verify(riderService,times(1)).findAllRider(null, 20);
+
+    }
 
-        verify(riderService,times(1)).findAllRider();
+    @Test
+    @DisplayName("Should return 200 Ok and stream riders as NDJSON when call streamAll")
+    void streamAll_Return200OkAndNdjson_WhenEverythingIsOK() throws Exception{
+        RiderSummaryDto fakeDto1 = new RiderSummaryDto(UUID.randomUUID(),"joao.silva", "joao.silva@test.com", "Maringá", "Paraná", 0L);
+        RiderSummaryDto fakeDto2 = new RiderSummaryDto(UUID.randomUUID(),"paulo.carvalho", "paulo.carvalho@test.com", "Cascavel", "Paraná", 0L);
+
+        doAnswer(invocation -> {
+            Consumer<RiderSummaryDto> consumer = invocation.getArgument(0);
+            consumer.accept(fakeDto1);
+            consumer.accept(fakeDto2);
+            return null;
+        }).when(riderService).streamAllRider(any());
+
+        String expectedBody = objectMapper.writeValueAsString(fakeDto1) + "\n"
+                + objectMapper.writeValueAsString(fakeDto2) + "\n";
+
+        mockMvc.perform(get("/rider/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expectedBody));
+    }
 
+    @Test
+    @DisplayName("Should return 200 Ok and stream riders as a JSON array when call streamAll accepting only JSON")
+    void streamAll_Return200OkAndJsonArray_WhenAcceptIsJson() throws Exception{
+        RiderSummaryDto fakeDto1 = new RiderSummaryDto(UUID.randomUUID(),"joao.silva", "joao.silva@test.com", "Maringá", "Paraná", 0L);
+
+        doAnswer(invocation -> {
+            Consumer<RiderSummaryDto> consumer = invocation.getArgument(0);
+            consumer.accept(fakeDto1);
+            return null;
+        }).when(riderService).streamAllRider(any());
+
+        mockMvc.perform(get("/rider/stream")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.[0].id").value(fakeDto1.id().toString()))
+                .andExpect(jsonPath("$.length()").value(1));
     }
 
     @Test
@@ -210,7 +311,7 @@ public class RiderControllerTest {
                 existingRider.getBikerNickname(),
                 existingRider.getEmail(),
                 existingRider.getCity(),
-                existingRider.getState());
+                existingRider.getState(), 0L);
 
         UUID idToFind = existingRider.getId();
 
@@ -224,12 +325,46 @@ public class RiderControllerTest {
                 .andExpect(jsonPath("$.bikerNickname").value(expectedResultRiderSummary.bikerNickname()))
                 .andExpect(jsonPath("$.email").value(expectedResultRiderSummary.email()))
                 .andExpect(jsonPath("$.city").value(expectedResultRiderSummary.city()))
-                .andExpect(jsonPath("$.state").value(expectedResultRiderSummary.state()));
+                .andExpect(jsonPath("$.state").value(expectedResultRiderSummary.state()))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
 
         verify(riderService,times(1)).findById(idToFind);
 
     }
 
+    @Test
+    @DisplayName("Should Return 304 Not Modified without loading the Rider when call findById with a matching If-None-Match")
+    void findById_Return304NotModified_WhenEtagMatches() throws Exception{
+        UUID idToFind = existingRider.getId();
+
+        given(riderService.findVersionById(idToFind)).willReturn(3L);
+
+        mockMvc.perform(get("/rider/{id}",idToFind)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(riderService, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should Return 200 Ok with the new ETag when call findById with a stale If-None-Match")
+    void findById_Return200Ok_WhenEtagIsStale() throws Exception{
+        UUID idToFind = existingRider.getId();
+
+        given(riderService.findVersionById(idToFind)).willReturn(4L);
+        given(riderService.findById(idToFind)).willReturn(new RiderSummaryDto(idToFind, existingRider.getBikerNickname(),
+                existingRider.getEmail(), existingRider.getCity(), existingRider.getState(), 4L));
+
+        mockMvc.perform(get("/rider/{id}",idToFind)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.id").value(idToFind.toString()));
+    }
+
     @Test
     @DisplayName("Should Return 404 and Resource Not Found Exception when call findById with non existing id")
     void finById_ReturnResourceNotFoundException_WhenIdNonExisting() throws Exception{
@@ -255,7 +390,7 @@ public class RiderControllerTest {
                 existingRider.getBikerNickname(),
                 existingRider.getEmail(),
                 existingRider.getCity(),
-                existingRider.getState());
+                existingRider.getState(), 0L);
 
         String emailToFind = existingRider.getEmail();
 
@@ -293,55 +428,167 @@ public class RiderControllerTest {
     }
 
     @Test
-    @DisplayName("Should return 200 Ok and a list of riders when call findByState and everything is ok")
-    void findByState_Return200OkAndListOfRiders_WhenEverythingIsOK() throws Exception {
+    @DisplayName("Should Return 200 Ok and RiderSummaryDto when call findByNickname and everything is ok")
+    void findByNickname_Return200OkAndRiderSummary_WhenEverythingIsOK() throws Exception{
+        RiderSummaryDto expectedResultRiderSummary = new RiderSummaryDto(
+                existingRider.getId(),
+                existingRider.getBikerNickname(),
+                existingRider.getEmail(),
+                existingRider.getCity(),
+                existingRider.getState(), 0L);
+
+        given(riderService.findByNickname(existingRider.getBikerNickname())).willReturn(expectedResultRiderSummary);
+
+        mockMvc.perform(get("/rider/search/by-nickname")
+                        .param("nickname", existingRider.getBikerNickname())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(expectedResultRiderSummary.id().toString()))
+                .andExpect(jsonPath("$.bikerNickname").value(expectedResultRiderSummary.bikerNickname()));
+
+        verify(riderService,times(1)).findByNickname(existingRider.getBikerNickname());
+    }
+
+    @Test
+    @DisplayName("Should stream the import results as NDJSON when call import with a CSV body")
+    void importRiders_Return200OkAndNdjson_WhenBodyIsCsv() throws Exception {
+        UUID createdId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<List<RiderImportResultDto>> results = invocation.getArgument(2);
+            results.accept(List.of(new RiderImportResultDto(2, RiderImportStatus.CREATED, createdId, null)));
+            results.accept(List.of(new RiderImportResultDto(3, RiderImportStatus.INVALID, null, "Linha inválida")));
+            return null;
+        }).when(riderImportService).importRiders(any(Reader.class), eq(RiderImportFormat.CSV), any());
+
+        String response = mockMvc.perform(post("/rider/import")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("fullName,email,bikerNickname,password,city,state\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(response.lines().toList()).containsExactly(
+                "{\"line\":2,\"status\":\"CREATED\",\"id\":\"" + createdId + "\",\"message\":null}",
+                "{\"line\":3,\"status\":\"INVALID\",\"id\":null,\"message\":\"Linha inválida\"}");
+    }
+
+    @Test
+    @DisplayName("Should return 403 Forbidden when a rider calls import with their own token")
+    void importRiders_Return403Forbidden_WhenCallerIsARider() throws Exception {
+        mockMvc.perform(post("/rider/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("fullName,email,bikerNickname,password,city,state\n"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(riderImportService);
+    }
+
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should return 401 Unauthorized when import is called without the internal service token")
+    void importRiders_Return401Unauthorized_WhenInternalServiceTokenIsMissing() throws Exception {
+        mockMvc.perform(post("/rider/import")
+                        .with(csrf())
+                        .contentType("text/csv")
+                        .content("fullName,email,bikerNickname,password,city,state\n"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(riderImportService);
+    }
+
+    @Test
+    @DisplayName("Should return 200 Ok and a page of riders when call findByState and everything is ok")
+    void findByState_Return200OkAndPageOfRiders_WhenEverythingIsOK() throws Exception {
         String stateToFind = "Paraná";
         RiderSummaryDto fakeDto1 = new RiderSummaryDto(
                 UUID.randomUUID(),
                 "joao.silva",
                 "joao.silva@test.com",
                 "Maringá",
-                stateToFind);
+                stateToFind, 0L);
 
         RiderSummaryDto fakeDto2 = new RiderSummaryDto(
                 UUID.randomUUID(),
                 "maria.santos",
                 "maria.santos@test.com",
                 "Curitiba",
-                stateToFind);
+                stateToFind, 0L);
 
-        List<RiderSummaryDto> expectedRiderList = List.of(fakeDto1, fakeDto2);
+        RiderStatePageDto expectedPage = new RiderStatePageDto(List.of(fakeDto1, fakeDto2), 1, 2, 6, "next-cursor");
 
-        given(riderService.findByState(stateToFind)).willReturn(expectedRiderList);
+        given(riderService.findByState(stateToFind, "nickname", 1, null, 2)).willReturn(expectedPage);
 
         mockMvc.perform(get("/rider/search/by-state")
                         .param("state", stateToFind)
+                        .param("sort", "nickname")
+                        .param("page", "1")
+                        .param("size", "2")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$.[0].bikerNickname").value("joao.silva"))
-                .andExpect(jsonPath("$.[1].bikerNickname").value("maria.santos"));
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].bikerNickname").value("joao.silva"))
+                .andExpect(jsonPath("$.content[1].bikerNickname").value("maria.santos"))
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.totalElements").value(6))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+
+        verify(riderService, times(1)).findByState(stateToFind, "nickname", 1, null, 2);
+    }
 
-        verify(riderService, times(1)).findByState(stateToFind);
+    @Test
+    @DisplayName("Should return 304 Not Modified when call findByState with the ETag of an unchanged page")
+    void findByState_Return304NotModified_WhenEtagMatches() throws Exception {
+        String stateToFind = "Paraná";
+        RiderSummaryDto fakeDto = new RiderSummaryDto(UUID.randomUUID(), "joao.silva", "joao.silva@test.com",
+                "Maringá", stateToFind, 2L);
+        given(riderService.findByState(stateToFind, "city", 0, null, 20))
+                .willReturn(new RiderStatePageDto(List.of(fakeDto), 0, 20, 1, null));
+
+        String etag = mockMvc.perform(get("/rider/search/by-state").param("state", stateToFind))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/rider/search/by-state")
+                        .param("state", stateToFind)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        given(riderService.findByState(stateToFind, "city", 0, null, 20))
+                .willReturn(new RiderStatePageDto(List.of(new RiderSummaryDto(fakeDto.id(), "joao.silva",
+                        "joao.silva@test.com", "Curitiba", stateToFind, 3L)), 0, 20, 1, null));
+
+        String changedEtag = mockMvc.perform(get("/rider/search/by-state")
+                        .param("state", stateToFind)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(changedEtag).isNotEqualTo(etag);
     }
 
     @Test
-    @DisplayName("Should return 200 Ok and an empty list when call findByState with a non-existing state")
-    void findByState_Return200OkAndEmptyList_WhenStateNonExisting() throws Exception {
+    @DisplayName("Should return 200 Ok and an empty page when call findByState with a non-existing state")
+    void findByState_Return200OkAndEmptyPage_WhenStateNonExisting() throws Exception {
         String stateToFind = "Estado Fantasma";
-        List<RiderSummaryDto> expectedRiderList = List.of();
+        RiderStatePageDto expectedPage = new RiderStatePageDto(List.of(), 0, 20, 0, null);
 
-        given(riderService.findByState(stateToFind)).willReturn(expectedRiderList);
+        given(riderService.findByState(stateToFind, "city", 0, null, 20)).willReturn(expectedPage);
 
         mockMvc.perform(get("/rider/search/by-state")
                         .param("state", stateToFind)
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(0));
+                .andExpect(jsonPath("$.content.size()").value(0))
+                .andExpect(jsonPath("$.totalElements").value(0));
 
-        verify(riderService, times(1)).findByState(stateToFind);
+        verify(riderService, times(1)).findByState(stateToFind, "city", 0, null, 20);
     }
 
     @Test
@@ -362,10 +609,10 @@ public class RiderControllerTest {
                 riderUpdateDto.bikerNickname(),
                 riderUpdateDto.email(),
                 riderUpdateDto.city(),
-                riderUpdateDto.state()
+                riderUpdateDto.state(), 0L
         );
 
-        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate))).willReturn(expectedRiderSummary);
+        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate), isNull())).willReturn(expectedRiderSummary);
 
         mockMvc.perform(put("/rider/{id}", idToUpdate)
                         .with(csrf())
@@ -378,7 +625,137 @@ public class RiderControllerTest {
                 .andExpect(jsonPath("$.city").value(riderUpdateDto.city()))
                 .andExpect(jsonPath("$.state").value(riderUpdateDto.state()));
 
-        verify(riderService, times(1)).updateRider(any(RiderInsertDto.class), eq(idToUpdate));
+        verify(riderService, times(1)).updateRider(any(RiderInsertDto.class), eq(idToUpdate), isNull());
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the update and return the new ETag")
+    void update_Return200OkAndNewEtag_WhenIfMatchIsInformed() throws Exception {
+        UUID idToUpdate = existingRider.getId();
+        RiderInsertDto riderUpdateDto = new RiderInsertDto("Marlon Britto", "marlonb@test.com", "marlon.britto",
+                "newpassword123", "Curitiba", "Paraná");
+
+        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate), eq(3L))).willReturn(
+                new RiderSummaryDto(idToUpdate, "marlon.britto", "marlonb@test.com", "Curitiba", "Paraná", 4L));
+
+        mockMvc.perform(put("/rider/{id}", idToUpdate)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(riderUpdateDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    @DisplayName("Should return 412 Precondition Failed when call update with a stale If-Match")
+    void update_Return412PreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        UUID idToUpdate = existingRider.getId();
+        RiderInsertDto riderUpdateDto = new RiderInsertDto("Marlon Britto", "marlonb@test.com", "marlon.britto",
+                "newpassword123", "Curitiba", "Paraná");
+        String errorMessage = "O Rider com ID " + idToUpdate + " foi alterado desde a versão informada em If-Match";
+
+        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate), eq(2L)))
+                .willThrow(new PreconditionFailedException(errorMessage));
+
+        mockMvc.perform(put("/rider/{id}", idToUpdate)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(riderUpdateDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412))
+                .andExpect(jsonPath("$.message").value(errorMessage));
+    }
+
+    @Test
+    @DisplayName("Should return 412 Precondition Failed without updating when call update with a weak If-Match")
+    void update_Return412PreconditionFailed_WhenIfMatchIsWeak() throws Exception {
+        RiderInsertDto riderUpdateDto = new RiderInsertDto("Marlon Britto", "marlonb@test.com", "marlon.britto",
+                "newpassword123", "Curitiba", "Paraná");
+
+        mockMvc.perform(put("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(riderUpdateDto)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(riderService, never()).updateRider(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 409 Conflict when call update while another request changed the Rider")
+    void update_Return409Conflict_WhenUpdatedConcurrently() throws Exception {
+        UUID idToUpdate = existingRider.getId();
+        RiderInsertDto riderUpdateDto = new RiderInsertDto("Marlon Britto", "marlonb@test.com", "marlon.britto",
+                "newpassword123", "Curitiba", "Paraná");
+
+        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate), isNull()))
+                .willThrow(new ObjectOptimisticLockingFailureException(Rider.class, idToUpdate));
+
+        mockMvc.perform(put("/rider/{id}", idToUpdate)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(riderUpdateDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK and the patched Rider when call patch with a merge patch")
+    void patch_Return200OkAndPatchedRider_WhenEverythingIsOk() throws Exception {
+        UUID idToPatch = existingRider.getId();
+        RiderPatchDto expectedPatch = new RiderPatchDto(null, null, null, null, "Curitiba", null);
+
+        given(riderService.patchRider(eq(expectedPatch), eq(idToPatch), eq(1L))).willReturn(new RiderSummaryDto(
+                idToPatch, existingRider.getBikerNickname(), existingRider.getEmail(), "Curitiba", existingRider.getState(), 2L));
+
+        mockMvc.perform(patch("/rider/{id}", idToPatch)
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"city\":\"Curitiba\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.city").value("Curitiba"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when call patch trying to remove a field with null")
+    void patch_Return400BadRequest_WhenFieldIsNull() throws Exception {
+        mockMvc.perform(patch("/rider/{id}", existingRider.getId())
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"city\":null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Requisição malformada"));
+
+        verify(riderService, never()).patchRider(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 422 Unprocessable Entity when call patch with a blank field or short password")
+    void patch_Return422_WhenFieldIsInvalid() throws Exception {
+        mockMvc.perform(patch("/rider/{id}", existingRider.getId())
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"city\":\"  \",\"password\":\"curta\"}"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(riderService, never()).patchRider(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 422 Unprocessable Entity when call patch with a password of only whitespace")
+    void patch_Return422_WhenPasswordIsBlank() throws Exception {
+        mockMvc.perform(patch("/rider/{id}", existingRider.getId())
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"password\":\"        \"}"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(riderService, never()).patchRider(any(), any(), any());
     }
 
     @Test
@@ -394,7 +771,7 @@ public class RiderControllerTest {
                 "state");
 
         String expectedMessage = "Rider com ID " + nonExistingId + " não encontrado.";
-        given(riderService.updateRider(any(RiderInsertDto.class), eq(nonExistingId)))
+        given(riderService.updateRider(any(RiderInsertDto.class), eq(nonExistingId), isNull()))
                 .willThrow(new ResourceNotFoundException("Rider", nonExistingId));
 
         mockMvc.perform(put("/rider/{id}", nonExistingId)
@@ -420,7 +797,7 @@ public class RiderControllerTest {
                 "state");
 
         String errorMessage = "Já existe um usuario diferente cadastrado com o e-mail: " + riderUpdateDto.email();
-        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate)))
+        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate), isNull()))
                 .willThrow(new BusinessException(errorMessage));
 
         mockMvc.perform(put("/rider/{id}", idToUpdate)
@@ -445,7 +822,7 @@ public class RiderControllerTest {
                 "state");
 
         String errorMessage = "Já existe um usuario diferente cadastrado com o nickname: " + riderUpdateDto.bikerNickname();
-        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate)))
+        given(riderService.updateRider(any(RiderInsertDto.class), eq(idToUpdate), isNull()))
                 .willThrow(new BusinessException(errorMessage));
 
         mockMvc.perform(put("/rider/{id}", idToUpdate)
@@ -497,6 +874,7 @@ public class RiderControllerTest {
         given(riderService.findAuthDataByEmail(existingEmail)).willReturn(expectedAuthDto);
 
         mockMvc.perform(get("/rider/internal/by-email")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
                         .param("email", existingEmail)
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
@@ -514,11 +892,148 @@ public class RiderControllerTest {
                 .willThrow(new ResourceNotFoundException("Rider", "e-mail", nonExistingEmail));
 
         mockMvc.perform(get("/rider/internal/by-email")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
                         .param("email", nonExistingEmail)
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should return 401 Unauthorized when findAuthDataByEmail is called without the internal service token")
+    void findAuthDataByEmail_Return401Unauthorized_WhenInternalServiceTokenIsMissing() throws Exception {
+        mockMvc.perform(get("/rider/internal/by-email")
+                        .param("email", "marlonb@test.com"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(riderService);
+    }
 
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should return 401 Unauthorized when findAuthDataByEmail is called with a wrong internal service token")
+    void findAuthDataByEmail_Return401Unauthorized_WhenInternalServiceTokenIsWrong() throws Exception {
+        mockMvc.perform(get("/rider/internal/by-email")
+                        .header(InternalServiceToken.HEADER, "token-forjado-com-mais-de-trinta-e-dois-bytes")
+                        .param("email", "marlonb@test.com"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(riderService);
+    }
+
+    @Test
+    @DisplayName("Should return 403 Forbidden when a rider calls findAuthDataByEmail with their own token")
+    void findAuthDataByEmail_Return403Forbidden_WhenCallerIsARider() throws Exception {
+        mockMvc.perform(get("/rider/internal/by-email")
+                        .param("email", "marlonb@test.com"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(riderService);
+    }
+
+    @Test
+    @DisplayName("Should return 204 No Content when the upgraded password hash is stored")
+    void rehashPassword_Return204NoContent_WhenStoredHashIsUnchanged() throws Exception{
+        RiderPasswordRehashDto rehashDto = new RiderPasswordRehashDto("joao.silva@test.com", "old-hash", "new-hash");
+
+        given(riderService.rehashPassword(rehashDto)).willReturn(true);
+
+        mockMvc.perform(put("/rider/internal/password-hash")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rehashDto)))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Should return 409 Conflict when the stored password hash changed in the meantime")
+    void rehashPassword_Return409Conflict_WhenStoredHashChanged() throws Exception{
+        RiderPasswordRehashDto rehashDto = new RiderPasswordRehashDto("joao.silva@test.com", "old-hash", "new-hash");
+
+        given(riderService.rehashPassword(rehashDto)).willReturn(false);
+
+        mockMvc.perform(put("/rider/internal/password-hash")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rehashDto)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when the upgraded password hash is malformed")
+    void rehashPassword_Return400BadRequest_WhenNewHashIsMalformed() throws Exception{
+        RiderPasswordRehashDto rehashDto = new RiderPasswordRehashDto("joao.silva@test.com", "old-hash", "{bcrypt}");
+
+        given(riderService.rehashPassword(rehashDto))
+                .willThrow(new BusinessException("O hash de senha informado não está no formato atual"));
+
+        mockMvc.perform(put("/rider/internal/password-hash")
+                        .header(InternalServiceToken.HEADER, internalServiceToken)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rehashDto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should return 401 Unauthorized when rehashPassword is called without the internal service token")
+    void rehashPassword_Return401Unauthorized_WhenInternalServiceTokenIsMissing() throws Exception{
+        RiderPasswordRehashDto rehashDto = new RiderPasswordRehashDto("joao.silva@test.com", "old-hash", "new-hash");
+
+        mockMvc.perform(put("/rider/internal/password-hash")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(rehashDto)))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(riderService);
+    }
+
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should return 401 Unauthorized with a Bearer challenge when call findById without a token")
+    void findById_Return401Unauthorized_WhenTokenIsMissing() throws Exception{
+        mockMvc.perform(get("/rider/{id}", existingRider.getId()))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"));
+
+        verifyNoInteractions(riderService);
+    }
+
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should return 401 Unauthorized when call findById with an invalid token")
+    void findById_Return401Unauthorized_WhenTokenIsInvalid() throws Exception{
+        given(tokenVerifier.verify("forged-token")).willThrow(new InvalidTokenException("Invalid token"));
+
+        mockMvc.perform(get("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer forged-token"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""));
+
+        verifyNoInteractions(riderService);
+    }
+
+    @Test
+    @WithAnonymousUser
+    @DisplayName("Should return 200 Ok when call findById with a token the verifier accepts")
+    void findById_Return200Ok_WhenTokenIsValid() throws Exception{
+        given(tokenVerifier.verify("valid-token")).willReturn(
+                new VerifiedToken(existingRider.getEmail(), Instant.now(), Instant.now().plusSeconds(60)));
+        given(riderService.findById(existingRider.getId())).willReturn(new RiderSummaryDto(
+                existingRider.getId(),
+                existingRider.getBikerNickname(),
+                existingRider.getEmail(),
+                existingRider.getCity(),
+                existingRider.getState(), 0L));
+
+        mockMvc.perform(get("/rider/{id}", existingRider.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer valid-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(existingRider.getEmail()));
+    }
 }
@@ -0,0 +1,59 @@
+package br.com.rastrodeliberdade.rider_service.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Should generate RFC 9562 version 7 ids carrying the current Unix millisecond timestamp")
+    void randomUuid_shouldBeVersion7WithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.randomUuid();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // Other tests may have borrowed a few milliseconds ahead through the shared counter.
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 10);
+    }
+
+    @Test
+    @DisplayName("Should generate unique ids in increasing order within the same millisecond")
+    void generate_withinSameMillisecond_shouldStayOrdered() {
+        long now = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 4_000; i++) {
+            ids.add(UuidV7.generate(now));
+        }
+
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        assertThat(ids).isSortedAccordingTo(UuidV7Test::compareUnsigned);
+        assertThat(ids).allSatisfy(id -> assertThat(id.version()).isEqualTo(7));
+    }
+
+    @Test
+    @DisplayName("Should keep ids increasing when the clock steps back")
+    void generate_whenClockStepsBack_shouldStayOrdered() {
+        long now = System.currentTimeMillis();
+        UUID first = UuidV7.generate(now);
+        UUID second = UuidV7.generate(now - 1_000);
+
+        assertThat(compareUnsigned(first, second)).isNegative();
+    }
+
+    // UUID.compareTo compares the halves as signed longs, which is not the byte order databases index by.
+    private static int compareUnsigned(UUID left, UUID right) {
+        int mostSignificant = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return mostSignificant != 0
+                ? mostSignificant
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}
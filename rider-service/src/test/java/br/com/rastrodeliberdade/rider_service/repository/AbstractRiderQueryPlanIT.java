@@ -0,0 +1,182 @@
+package br.com.rastrodeliberdade.rider_service.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the SQL Hibernate generates for the hot RiderRepository queries through EXPLAIN, so a query or
+// migration change that falls back to a full scan fails the build.
+@Transactional
+abstract class AbstractRiderQueryPlanIT {
+
+    @Autowired
+    private RiderRepository riderRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RecordingStatementInspector statements;
+
+    @BeforeEach
+    void clearStatements() {
+        statements.clear();
+    }
+
+    protected abstract void prepare(Statement statement) throws SQLException;
+
+    protected abstract boolean isFullScan(String plan);
+
+    @Test
+    @DisplayName("Should use a state index when reading the first page of a state")
+    void findStatePage_shouldUseStateIndex() throws SQLException {
+        riderRepository.findStatePage("Paraná", PageRequest.of(0, 21, Sort.by("city", "id")));
+
+        assertIndexed(statements.last(), "idx_riders_state_", "Paraná", 21);
+    }
+
+    @Test
+    @DisplayName("Should use idx_riders_state_city_id when reading the page of a state after a city cursor")
+    void findStatePageAfterCity_shouldUseStateCityIndex() throws SQLException {
+        UUID id = UUID.randomUUID();
+        riderRepository.findStatePageAfterCity("Paraná", "Maringá", id, Limit.of(21));
+
+        assertIndexed(statements.last(), "idx_riders_state_city_id", "Paraná", "Maringá", "Maringá", id, 21);
+    }
+
+    @Test
+    @DisplayName("Should use idx_riders_state_biker_nickname when reading the page of a state after a nickname cursor")
+    void findStatePageAfterNickname_shouldUseStateNicknameIndex() throws SQLException {
+        riderRepository.findStatePageAfterNickname("Paraná", "marlon.britto", Limit.of(21));
+
+        assertIndexed(statements.last(), "idx_riders_state_biker_nickname", "Paraná", "marlon.britto", 21);
+    }
+
+    @Test
+    @DisplayName("Should use a state index when counting the riders of a state")
+    void countByState_shouldUseStateIndex() throws SQLException {
+        riderRepository.countByState("Paraná");
+
+        assertIndexed(statements.last(), "idx_riders_state_", "Paraná");
+    }
+
+    @Test
+    @DisplayName("Should use the unique e-mail index when finding auth data by e-mail")
+    void findAuthDataByEmail_shouldUseEmailIndex() throws SQLException {
+        riderRepository.findAuthDataByEmail("rider@test.com");
+
+        assertIndexed(statements.last(), "uk_riders_email", "rider@test.com");
+    }
+
+    @Test
+    @DisplayName("Should use the unique nickname index when finding a summary by nickname")
+    void findSummaryByBikerNickname_shouldUseNicknameIndex() throws SQLException {
+        riderRepository.findSummaryByBikerNickname("rider");
+
+        assertIndexed(statements.last(), "uk_riders_biker_nickname", "rider");
+    }
+
+    @Test
+    @DisplayName("Should use the unique indexes when looking up the keys of an import chunk")
+    void findUniqueKeys_shouldUseUniqueIndexes() throws SQLException {
+        riderRepository.findUniqueKeys(List.of("rider@test.com"), List.of("rider"));
+
+        String sql = statements.last();
+        assertIndexed(sql, "uk_riders_email", "rider@test.com", "rider");
+        assertIndexed(sql, "uk_riders_biker_nickname", "rider@test.com", "rider");
+    }
+
+    @Test
+    @DisplayName("Should use idx_riders_register_date_id when reading the page after a cursor")
+    void findPageAfter_shouldUseRegisterDateIndex() throws SQLException {
+        LocalDateTime registerDate = LocalDateTime.of(2025, 1, 1, 0, 0);
+        UUID id = UUID.randomUUID();
+        riderRepository.findPageAfter(registerDate, id, Limit.of(21));
+
+        assertIndexed(statements.last(), "idx_riders_register_date_id",
+                Timestamp.valueOf(registerDate), Timestamp.valueOf(registerDate), id, 21);
+    }
+
+    private void assertIndexed(String sql, String index, Object... parameters) throws SQLException {
+        String plan = explain(sql, parameters);
+
+        assertThat(isFullScan(plan)).as("full scan in plan:%n%s", plan).isFalse();
+        assertThat(plan.toLowerCase()).as("plan:%n%s", plan).contains(index);
+    }
+
+    private String explain(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                prepare(statement);
+            }
+            try (PreparedStatement explain = connection.prepareStatement("explain " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    explain.setObject(i + 1, parameters[i]);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    static class RecordingStatementInspector implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        String last() {
+            assertThat(statements).isNotEmpty();
+            return statements.getLast();
+        }
+
+        void clear() {
+            statements.clear();
+        }
+    }
+
+    @TestConfiguration
+    static class QueryPlanConfig {
+        @Bean
+        RecordingStatementInspector recordingStatementInspector() {
+            return new RecordingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(RecordingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.rastrodeliberdade.rider_service.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.sql.Statement;
+
+@SpringBootTest
+@Import(AbstractRiderQueryPlanIT.QueryPlanConfig.class)
+class RiderQueryPlanIT extends AbstractRiderQueryPlanIT {
+
+    @Override
+    protected void prepare(Statement statement) {
+    }
+
+    @Override
+    protected boolean isFullScan(String plan) {
+        return plan.contains("tableScan");
+    }
+}
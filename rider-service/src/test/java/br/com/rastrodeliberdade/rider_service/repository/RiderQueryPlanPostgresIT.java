@@ -0,0 +1,33 @@
+package br.com.rastrodeliberdade.rider_service.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import(AbstractRiderQueryPlanIT.QueryPlanConfig.class)
+class RiderQueryPlanPostgresIT extends AbstractRiderQueryPlanIT {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // On a near-empty table PostgreSQL rightly prefers a sequential scan; disabling it shows whether an
+    // index could serve the query at all.
+    @Override
+    protected void prepare(Statement statement) throws SQLException {
+        statement.execute("set enable_seqscan = off");
+    }
+
+    @Override
+    protected boolean isFullScan(String plan) {
+        return plan.contains("Seq Scan");
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.rastrodeliberdade.rider_service.service;
+
+import br.com.rastrodeliberdade.rider_service.domain.Rider;
+import br.com.rastrodeliberdade.rider_service.dto.RiderImportResultDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderImportStatus;
+import br.com.rastrodeliberdade.rider_service.event.RiderCredentialsChangedEvent;
+import br.com.rastrodeliberdade.rider_service.repository.RiderJdbcRepository;
+import br.com.rastrodeliberdade.rider_service.repository.RiderRepository;
+import br.com.rastrodeliberdade.rider_service.repository.RiderUniqueKeys;
+import br.com.rastrodeliberdade.service_commons.security.BoundedPasswordEncoder;
+import br.com.rastrodeliberdade.service_commons.security.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@TestPropertySource(properties = "rider.import.batch-size=2")
+@RecordApplicationEvents
+public class RiderImportServiceTest {
+    @Autowired
+    RiderImportService riderImportService;
+
+    @MockitoBean
+    RiderRepository riderRepository;
+
+    @MockitoBean
+    RiderJdbcRepository riderJdbcRepository;
+
+    @MockitoSpyBean
+    BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    ApplicationEvents applicationEvents;
+
+    @Test
+    @DisplayName("Should look up and insert each chunk with one query and one batch when call importRiders")
+    @SuppressWarnings("unchecked")
+    void importRiders_ReturnCreatedPerChunk_WhenEverythingIsOk() throws Exception {
+        when(riderRepository.findUniqueKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        List<List<RiderImportResultDto>> chunks = new ArrayList<>();
+        riderImportService.importRiders(new StringReader(String.join("\n",
+                row("joao.silva"), row("maria.santos"), row("ana.souza"))), RiderImportFormat.NDJSON, chunks::add);
+
+        assertThat(chunks).extracting(List::size).containsExactly(2, 1);
+        assertThat(chunks.stream().flatMap(List::stream))
+                .extracting(RiderImportResultDto::status)
+                .containsOnly(RiderImportStatus.CREATED);
+
+        ArgumentCaptor<List<Rider>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(riderRepository, times(2)).findUniqueKeys(anyCollection(), anyCollection());
+        verify(riderJdbcRepository, times(2)).insertAll(inserted.capture());
+        verify(riderJdbcRepository, never()).insert(any(Rider.class));
+        assertThat(inserted.getAllValues().getFirst())
+                .extracting(Rider::getEmail)
+                .containsExactly("joao.silva@test.com", "maria.santos@test.com");
+        assertThat(inserted.getAllValues().getFirst().getFirst().getPassword()).startsWith("{bcrypt}");
+        assertThat(inserted.getAllValues().getFirst().getFirst().getId().version()).isEqualTo(7);
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class)).containsExactly(
+                new RiderCredentialsChangedEvent(Set.of("joao.silva@test.com", "maria.santos@test.com")),
+                new RiderCredentialsChangedEvent(Set.of("ana.souza@test.com")));
+    }
+
+    @Test
+    @DisplayName("Should skip keys already taken and retry row by row when the batch hits a concurrent insert")
+    void importRiders_ReturnDuplicate_WhenKeysAreTaken() throws Exception {
+        when(riderRepository.findUniqueKeys(anyCollection(), anyCollection()))
+                .thenReturn(List.of(new RiderUniqueKeys("joao.silva@test.com", "joao.silva")));
+        doThrow(new DuplicateKeyException("uk_riders_biker_nickname")).when(riderJdbcRepository).insertAll(anyList());
+        doThrow(new DuplicateKeyException("Unique index violation: UK_RIDERS_BIKER_NICKNAME"))
+                .when(riderJdbcRepository).insert(argThat(rider -> rider.getBikerNickname().equals("ana.souza")));
+
+        List<RiderImportResultDto> results = new ArrayList<>();
+        riderImportService.importRiders(new StringReader(String.join("\n",
+                row("joao.silva"), row("maria.santos"), row("ana.souza"))), RiderImportFormat.NDJSON, results::addAll);
+
+        assertThat(results).extracting(RiderImportResultDto::status)
+                .containsExactly(RiderImportStatus.DUPLICATE, RiderImportStatus.CREATED, RiderImportStatus.DUPLICATE);
+        assertThat(results.get(0).message()).contains("e-mail: joao.silva@test.com");
+        assertThat(results.get(2).message()).contains("nickname: ana.souza");
+        verify(riderJdbcRepository, times(2)).insert(any(Rider.class));
+        assertThat(results.get(1).line()).isEqualTo(2L);
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class))
+                .containsExactly(new RiderCredentialsChangedEvent(Set.of("maria.santos@test.com")));
+    }
+
+    @Test
+    @DisplayName("Should fail only the chunk whose passwords could not be hashed and keep importing the next ones")
+    void importRiders_ReturnFailedForChunk_WhenPasswordHashingIsUnavailable() throws Exception {
+        when(riderRepository.findUniqueKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+        doThrow(new PasswordHashingUnavailableException(
+                "Serviço de senhas sobrecarregado, tente novamente em instantes", null))
+                .doCallRealMethod()
+                .when(passwordEncoder).encodeAll(anyList());
+
+        List<RiderImportResultDto> results = new ArrayList<>();
+        riderImportService.importRiders(new StringReader(String.join("\n",
+                row("joao.silva"), row("maria.santos"), row("ana.souza"))), RiderImportFormat.NDJSON, results::addAll);
+
+        assertThat(results).extracting(RiderImportResultDto::status)
+                .containsExactly(RiderImportStatus.FAILED, RiderImportStatus.FAILED, RiderImportStatus.CREATED);
+        assertThat(results.get(0).message()).isEqualTo("Serviço de senhas sobrecarregado, tente novamente em instantes");
+        verify(riderJdbcRepository, times(1)).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should report a null NDJSON line as invalid and keep importing the other rows")
+    void importRiders_ReturnInvalid_WhenLineIsNull() throws Exception {
+        when(riderRepository.findUniqueKeys(anyCollection(), anyCollection())).thenReturn(List.of());
+
+        List<RiderImportResultDto> results = new ArrayList<>();
+        riderImportService.importRiders(new StringReader(String.join("\n",
+                row("joao.silva"), "null", row("ana.souza"))), RiderImportFormat.NDJSON, results::addAll);
+
+        assertThat(results).extracting(RiderImportResultDto::status)
+                .containsExactly(RiderImportStatus.CREATED, RiderImportStatus.INVALID, RiderImportStatus.CREATED);
+        assertThat(results.get(1).line()).isEqualTo(2L);
+        assertThat(results.get(1).message()).startsWith("Linha inválida");
+    }
+
+    private static String row(String bikerNickname) {
+        return """
+                {"fullName":"%1$s","email":"%1$s@TEST.com","bikerNickname":"%1$s","password":"12345mudar!","city":"Curitiba","state":"Paraná"}\
+                """.formatted(bikerNickname);
+    }
+}
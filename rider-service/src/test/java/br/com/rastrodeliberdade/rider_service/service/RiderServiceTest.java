@@ -1,31 +1,56 @@
 package br.com.rastrodeliberdade.rider_service.service;
 
+import br.com.rastrodeliberdade.rider_service.cache.RiderCache;
 import br.com.rastrodeliberdade.rider_service.domain.Rider;
 import br.com.rastrodeliberdade.rider_service.dto.RiderAuthDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderInsertDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPageDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPasswordRehashDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderPatchDto;
+import br.com.rastrodeliberdade.rider_service.dto.RiderStatePageDto;
 import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.event.RiderChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderCredentialsChangedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderPasswordRehashedEvent;
+import br.com.rastrodeliberdade.rider_service.event.RiderStateChangedEvent;
 import br.com.rastrodeliberdade.rider_service.exception.BusinessException;
+import br.com.rastrodeliberdade.rider_service.exception.PreconditionFailedException;
 import br.com.rastrodeliberdade.rider_service.exception.ResourceNotFoundException;
 import br.com.rastrodeliberdade.rider_service.mapper.RiderMapper;
 import br.com.rastrodeliberdade.rider_service.repository.RiderRepository;
+import br.com.rastrodeliberdade.rider_service.repository.RiderSummaryRow;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.assertj.core.api.AssertionsForClassTypes.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
+@RecordApplicationEvents
 public class RiderServiceTest {
     @Autowired
     RiderService riderService;
@@ -39,10 +64,22 @@ public class RiderServiceTest {
     @MockitoBean
     RiderRepository riderRepository;
 
+    @Autowired
+    ApplicationEvents applicationEvents;
+
     private Rider existingRider;
 
+    @Autowired
+    RiderStateCounts riderStateCounts;
+
+    @Autowired
+    RiderCache riderCache;
+
     @BeforeEach
     void setup(){
+        riderStateCounts.invalidateAll();
+        riderCache.invalidateAll();
+
         Rider savedRider = Rider.builder()
                 .id(UUID.randomUUID())
                 .fullName("Marlon Britto")
@@ -80,9 +117,7 @@ public class RiderServiceTest {
 
         RiderSummaryDto expectedRiderSummaryDto = riderMapper.toSummaryDto(fakeSavedRider);
 
-        when(riderRepository.findByEmail(riderInsertDto.email())).thenReturn(Optional.empty());
-        when(riderRepository.findByBikerNickname(riderInsertDto.bikerNickname())).thenReturn(Optional.empty());
-        when(riderRepository.save(any(Rider.class))).thenReturn(fakeSavedRider);
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenReturn(fakeSavedRider);
 
         RiderSummaryDto resultInsertRider = riderService.insertRider(riderInsertDto);
 
@@ -94,9 +129,10 @@ public class RiderServiceTest {
         assertThat(resultInsertRider.city()).isEqualTo(expectedRiderSummaryDto.city());
         assertThat(resultInsertRider.state()).isEqualTo(expectedRiderSummaryDto.state());
 
-        verify(riderRepository,times(1)).findByEmail(riderInsertDto.email());
-        verify(riderRepository,times(1)).findByBikerNickname(riderInsertDto.bikerNickname());
-        verify(riderRepository,times(1)).save(any(Rider.class));
+        verify(riderRepository,times(1)).saveAndFlush(any(Rider.class));
+        verifyNoMoreInteractions(riderRepository);
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class))
+                .containsExactly(new RiderCredentialsChangedEvent(Set.of("joao.silva@test.com")));
 
     }
 
@@ -122,7 +158,7 @@ public class RiderServiceTest {
                 .state(riderInsertDto.state())
                 .build();
 
-        when(riderRepository.findByEmail(riderInsertDto.email())).thenReturn(Optional.of(fakeSavedRider));
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenThrow(uniqueViolation(Rider.EMAIL_CONSTRAINT));
 
         assertThatThrownBy(()->riderService.insertRider(riderInsertDto))
                 .isInstanceOf(BusinessException.class)
@@ -152,8 +188,7 @@ public class RiderServiceTest {
                 .state(riderInsertDto.state())
                 .build();
 
-        when(riderRepository.findByEmail(riderInsertDto.email())).thenReturn(Optional.empty());
-        when(riderRepository.findByBikerNickname(riderInsertDto.bikerNickname())).thenReturn(Optional.of(fakeSavedRider));
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenThrow(uniqueViolation(Rider.BIKER_NICKNAME_CONSTRAINT));
 
         assertThatThrownBy(()->riderService.insertRider(riderInsertDto))
                 .isInstanceOf(BusinessException.class)
@@ -190,14 +225,55 @@ public class RiderServiceTest {
                         .map(riderMapper::toSummaryDto)
                         .toList();
 
-        when(riderRepository.findAll()).thenReturn(existingRiderList);
+        when(riderRepository.findFirstPage(Limit.of(21))).thenReturn(existingRiderList.stream().map(RiderServiceTest::row).toList());
+
+        RiderPageDto resultRiderPage = riderService.findAllRider(null, 20);
+
+        assertThat(resultRiderPage.content()).isEqualTo(expectedRiderList);
+        assertThat(resultRiderPage.nextCursor()).isNull();
+
+        verify(riderRepository,times(1)).findFirstPage(Limit.of(21));
+
+    }
+
+    @Test
+    @DisplayName("Should return a page with next cursor that continues after the last rider when there are more riders")
+    void findAll_ReturnPageWithNextCursor_WhenThereAreMoreRiders(){
+        Rider fakeRider1 = Rider.builder()
+                .id(UUID.randomUUID())
+                .bikerNickname("joao.silva")
+                .registerDate(LocalDateTime.of(2025, 1, 10, 8, 30))
+                .build();
+
+        Rider fakeRider2 = Rider.builder()
+                .id(UUID.randomUUID())
+                .bikerNickname("paulo.carvalho")
+                .registerDate(LocalDateTime.of(2025, 1, 11, 9, 45))
+                .build();
+
+        when(riderRepository.findFirstPage(Limit.of(2))).thenReturn(List.of(row(fakeRider1), row(fakeRider2)));
+        when(riderRepository.findPageAfter(fakeRider1.getRegisterDate(), fakeRider1.getId(), Limit.of(2)))
+                .thenReturn(List.of(row(fakeRider2)));
 
-        List<RiderSummaryDto> resultRiderList = riderService.findAllRider();
+        RiderPageDto firstPage = riderService.findAllRider(null, 1);
 
-        assertThat(resultRiderList).isEqualTo(expectedRiderList);
+        assertThat(firstPage.content().size()).isEqualTo(1);
+        assertThat(firstPage.content().get(0).id()).isEqualTo(fakeRider1.getId());
+        assertThat(firstPage.nextCursor()).isNotNull();
 
-        verify(riderRepository,times(1)).findAll();
+        RiderPageDto secondPage = riderService.findAllRider(firstPage.nextCursor(), 1);
 
+        assertThat(secondPage.content().size()).isEqualTo(1);
+        assertThat(secondPage.content().get(0).id()).isEqualTo(fakeRider2.getId());
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return Business Exception when call findAll with an invalid cursor")
+    void findAll_ReturnBusinessException_WhenCursorIsInvalid(){
+        assertThatThrownBy(()->riderService.findAllRider("not-a-cursor", 20))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Cursor de paginação inválido: not-a-cursor");
     }
 
     @Test
@@ -207,13 +283,14 @@ public class RiderServiceTest {
 
         UUID idToFind = existingRider.getId();
 
-        when(riderRepository.findById(idToFind)).thenReturn(Optional.ofNullable(existingRider));
+        when(riderRepository.findSummaryById(idToFind)).thenReturn(Optional.of(expectedResultRiderSummary));
 
         RiderSummaryDto resultRiderSummary = riderService.findById(idToFind);
 
         assertThat(resultRiderSummary).isEqualTo(expectedResultRiderSummary);
 
-        verify(riderRepository,times(1)).findById(idToFind);
+        verify(riderRepository,times(1)).findSummaryById(idToFind);
+        verify(riderRepository,never()).findById(any(UUID.class));
     }
 
     @Test
@@ -221,7 +298,7 @@ public class RiderServiceTest {
     void finById_ReturnResourceNotFoundException_WhenIdNonExisting() throws Exception{
         UUID idToFind = UUID.randomUUID();
 
-        when(riderRepository.findById(idToFind)).thenReturn(Optional.empty());
+        when(riderRepository.findSummaryById(idToFind)).thenReturn(Optional.empty());
 
         assertThatThrownBy(()->riderService.findById(idToFind))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -236,13 +313,13 @@ public class RiderServiceTest {
 
         String emailToFind = existingRider.getEmail();
 
-        when(riderRepository.findByEmail(emailToFind)).thenReturn(Optional.ofNullable(existingRider));
+        when(riderRepository.findSummaryByEmail(emailToFind)).thenReturn(Optional.of(expectedResultRiderSummary));
 
         RiderSummaryDto resultRiderSummary = riderService.findByEmail(emailToFind);
 
         assertThat(resultRiderSummary).isEqualTo(expectedResultRiderSummary);
 
-        verify(riderRepository,times(1)).findByEmail(emailToFind);
+        verify(riderRepository,times(1)).findSummaryByEmail(emailToFind);
 
     }
 
@@ -251,7 +328,7 @@ public class RiderServiceTest {
     void finByEmail_ReturnResourceNotFoundException_WhenEmailNonExisting() throws Exception{
         String emailToFind = "teste";
 
-        when(riderRepository.findByEmail(emailToFind)).thenReturn(Optional.empty());
+        when(riderRepository.findSummaryByEmail(emailToFind)).thenReturn(Optional.empty());
 
         assertThatThrownBy(()->riderService.findByEmail(emailToFind))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -260,61 +337,191 @@ public class RiderServiceTest {
     }
 
     @Test
-    @DisplayName("Should return a list of RiderSummaryDto when call findByState and everything is ok")
-    void findByState_ReturnListOfRider_WhenEverythingIsOK() {
+    @DisplayName("Should Return RiderSummaryDto when call findByNickname and everything is ok")
+    void findByNickname_ReturnRiderSummary_WhenEverythingIsOK() {
+        RiderSummaryDto expectedResultRiderSummary = riderMapper.toSummaryDto(existingRider);
+
+        when(riderRepository.findSummaryByBikerNickname(existingRider.getBikerNickname()))
+                .thenReturn(Optional.of(expectedResultRiderSummary));
+
+        RiderSummaryDto resultRiderSummary = riderService.findByNickname(existingRider.getBikerNickname());
+
+        assertThat(resultRiderSummary).isEqualTo(expectedResultRiderSummary);
+    }
+
+    @Test
+    @DisplayName("Should Return Resource Not Found Exception when call findByNickname with non existing nickname")
+    void findByNickname_ReturnResourceNotFoundException_WhenNicknameNonExisting() {
+        when(riderRepository.findSummaryByBikerNickname("ghost.rider")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(()->riderService.findByNickname("ghost.rider"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Rider não encontrado com nickname: 'ghost.rider'");
+    }
+
+    @Test
+    @DisplayName("Should serve lookups by id, email and nickname from the cache until the rider is updated")
+    void findById_ServeFromCache_UntilRiderIsUpdated() {
+        UUID id = existingRider.getId();
+        String previousEmail = existingRider.getEmail();
+        when(riderRepository.findSummaryById(id)).thenReturn(Optional.of(riderMapper.toSummaryDto(existingRider)));
+
+        riderService.findById(id);
+        riderService.findById(id);
+        riderService.findByEmail(previousEmail);
+        riderService.findByNickname(existingRider.getBikerNickname());
+
+        verify(riderRepository, times(1)).findSummaryById(id);
+        verify(riderRepository, never()).findSummaryByEmail(anyString());
+        verify(riderRepository, never()).findSummaryByBikerNickname(anyString());
+
+        when(riderRepository.findById(id)).thenReturn(Optional.of(existingRider));
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        riderService.updateRider(new RiderInsertDto("Marlon Britto", "marlonb.updated@test.com", "marlon.britto",
+                null, "Curitiba", "Paraná"), id, null);
+        when(riderRepository.findSummaryById(id)).thenReturn(Optional.of(riderMapper.toSummaryDto(existingRider)));
+        when(riderRepository.findSummaryByEmail(previousEmail)).thenReturn(Optional.empty());
+
+        assertThat(riderService.findById(id).city()).isEqualTo("Curitiba");
+        assertThatThrownBy(() -> riderService.findByEmail(previousEmail))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(riderService.findByEmail("marlonb.updated@test.com").email()).isEqualTo("marlonb.updated@test.com");
+
+        verify(riderRepository, times(2)).findSummaryById(id);
+        verify(riderRepository, times(1)).findSummaryByEmail(previousEmail);
+        verify(riderRepository, never()).findSummaryByEmail("marlonb.updated@test.com");
+    }
+
+    @Test
+    @DisplayName("Should serve auth data from the cache until the password hash is replaced")
+    void findAuthDataByEmail_ServeFromCache_UntilPasswordIsRehashed() {
+        String email = existingRider.getEmail();
+        when(riderRepository.findAuthDataByEmail(email)).thenReturn(Optional.of(
+                new RiderAuthDto(existingRider.getId(), email, existingRider.getPassword())));
+        when(riderRepository.updatePasswordHash(anyString(), anyString(), anyString())).thenReturn(1);
+
+        riderService.findAuthDataByEmail(email);
+        riderService.findAuthDataByEmail(email);
+        riderService.rehashPassword(new RiderPasswordRehashDto(email, existingRider.getPassword(),
+                passwordEncoder.encode("12345mudar!")));
+        riderService.findAuthDataByEmail(email);
+
+        verify(riderRepository, times(2)).findAuthDataByEmail(email);
+    }
+
+    @Test
+    @DisplayName("Should return a page of RiderSummaryDto with the cached state count when call findByState and everything is ok")
+    void findByState_ReturnPageOfRider_WhenEverythingIsOK() {
         String stateToFind = "Paraná";
 
-        Rider fakeRider1 = Rider.builder()
-                .id(UUID.randomUUID())
-                .fullName("João Silva")
-                .email("joao.silva@test.com")
-                .bikerNickname("joao.silva")
-                .state(stateToFind)
-                .build();
+        RiderSummaryRow fakeRider1 = new RiderSummaryRow(UUID.randomUUID(), "joao.silva", "joao.silva@test.com",
+                "Curitiba", stateToFind, LocalDateTime.of(2025, 1, 1, 10, 0), 0L);
+        RiderSummaryRow fakeRider2 = new RiderSummaryRow(UUID.randomUUID(), "maria.santos", "maria.santos@test.com",
+                "Maringá", stateToFind, LocalDateTime.of(2025, 1, 2, 10, 0), 0L);
 
-        Rider fakeRider2 = Rider.builder()
-                .id(UUID.randomUUID())
-                .fullName("Maria Santos")
-                .email("maria.santos@test.com")
-                .bikerNickname("maria.santos")
-                .state(stateToFind)
-                .build();
+        when(riderRepository.countByState(stateToFind)).thenReturn(3L);
+        when(riderRepository.findStatePage(stateToFind, PageRequest.of(0, 2, Sort.by("city", "id"))))
+                .thenReturn(List.of(fakeRider1, fakeRider2));
 
-        List<Rider> existingRiderList = List.of(fakeRider1, fakeRider2);
-        List<RiderSummaryDto> expectedRiderList = existingRiderList.stream()
-                .map(riderMapper::toSummaryDto)
-                .toList();
+        RiderStatePageDto firstPage = riderService.findByState(stateToFind, "city", 0, null, 2);
+        RiderStatePageDto repeatedPage = riderService.findByState(stateToFind, "city", 0, null, 2);
 
-        when(riderRepository.findByState(stateToFind)).thenReturn(existingRiderList);
+        assertThat(firstPage.content()).containsExactly(riderMapper.toSummaryDto(fakeRider1), riderMapper.toSummaryDto(fakeRider2));
+        assertThat(firstPage.page()).isEqualTo(0);
+        assertThat(firstPage.totalElements()).isEqualTo(3L);
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(repeatedPage.totalElements()).isEqualTo(3L);
 
-        List<RiderSummaryDto> resultRiderList = riderService.findByState(stateToFind);
+        verify(riderRepository, times(1)).countByState(stateToFind);
+    }
 
-        assertThat(resultRiderList).isNotNull();
-        assertThat(resultRiderList.size()).isEqualTo(2);
-        assertThat(resultRiderList).isEqualTo(expectedRiderList);
+    @Test
+    @DisplayName("Should continue after the cursor with the sort it was issued with when call findByState with a cursor")
+    void findByState_ReturnNextPage_WhenCursorIsInformed() {
+        String stateToFind = "Paraná";
 
-        verify(riderRepository, times(1)).findByState(stateToFind);
+        RiderSummaryRow fakeRider1 = new RiderSummaryRow(UUID.randomUUID(), "ana.souza", "ana.souza@test.com",
+                "Curitiba", stateToFind, LocalDateTime.of(2025, 1, 1, 10, 0), 0L);
+        RiderSummaryRow fakeRider2 = new RiderSummaryRow(UUID.randomUUID(), "bruno.lima", "bruno.lima@test.com",
+                "Londrina", stateToFind, LocalDateTime.of(2025, 1, 2, 10, 0), 0L);
+        RiderSummaryRow fakeRider3 = new RiderSummaryRow(UUID.randomUUID(), "carla.dias", "carla.dias@test.com",
+                "Maringá", stateToFind, LocalDateTime.of(2025, 1, 3, 10, 0), 0L);
+
+        when(riderRepository.countByState(stateToFind)).thenReturn(3L);
+        when(riderRepository.findStatePage(stateToFind, PageRequest.of(0, 1, Sort.by("bikerNickname"))))
+                .thenReturn(List.of(fakeRider1));
+        when(riderRepository.findStatePageAfterNickname(stateToFind, "ana.souza", Limit.of(2)))
+                .thenReturn(List.of(fakeRider2, fakeRider3));
+        when(riderRepository.findStatePageAfterNickname(stateToFind, "bruno.lima", Limit.of(2)))
+                .thenReturn(List.of(fakeRider3));
+
+        RiderStatePageDto firstPage = riderService.findByState(stateToFind, "nickname", 0, null, 1);
+        RiderStatePageDto secondPage = riderService.findByState(stateToFind, "city", 0, firstPage.nextCursor(), 1);
+        RiderStatePageDto lastPage = riderService.findByState(stateToFind, "city", 0, secondPage.nextCursor(), 1);
+
+        assertThat(secondPage.content()).containsExactly(riderMapper.toSummaryDto(fakeRider2));
+        assertThat(secondPage.page()).isNull();
+        assertThat(lastPage.content()).containsExactly(riderMapper.toSummaryDto(fakeRider3));
+        assertThat(lastPage.nextCursor()).isNull();
+
+        verify(riderRepository, never()).findStatePageAfterCity(anyString(), anyString(), any(UUID.class), any(Limit.class));
     }
 
     @Test
-    @DisplayName("Should return an empty list when call findByState with non-existing state")
-    void findByState_ReturnEmptyList_WhenStateNonExisting() {
+    @DisplayName("Should return an empty page when call findByState with non-existing state")
+    void findByState_ReturnEmptyPage_WhenStateNonExisting() {
         String stateToFind = "Estado Inexistente";
 
-        when(riderRepository.findByState(stateToFind)).thenReturn(List.of());
+        when(riderRepository.countByState(stateToFind)).thenReturn(0L);
+        when(riderRepository.findStatePage(stateToFind, PageRequest.of(0, 20, Sort.by("city", "id")))).thenReturn(List.of());
 
-        List<RiderSummaryDto> resultRiderList = riderService.findByState(stateToFind);
+        RiderStatePageDto resultPage = riderService.findByState(stateToFind, "city", 0, null, 20);
 
-        assertThat(resultRiderList).isNotNull();
-        assertThat(resultRiderList.isEmpty()).isTrue();
+        assertThat(resultPage.content()).isEmpty();
+        assertThat(resultPage.totalElements()).isZero();
+        assertThat(resultPage.nextCursor()).isNull();
+    }
 
-        verify(riderRepository, times(1)).findByState(stateToFind);
+    @Test
+    @DisplayName("Should return Business Exception when call findByState with an unknown sort")
+    void findByState_ReturnBusinessException_WhenSortIsInvalid() {
+        assertThatThrownBy(()->riderService.findByState("Paraná", "email", 0, null, 20))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Ordenação inválida: email");
+    }
+
+    @Test
+    @DisplayName("Should move the cached state counts when riders are inserted, moved and deleted")
+    void findByState_KeepCountUpToDate_WhenRidersChange() {
+        String stateToFind = existingRider.getState();
+        when(riderRepository.countByState(stateToFind)).thenReturn(1L);
+        when(riderRepository.countByState("Santa Catarina")).thenReturn(0L);
+        assertThat(riderService.findByState(stateToFind, "city", 0, null, 20).totalElements()).isEqualTo(1L);
+        assertThat(riderService.findByState("Santa Catarina", "city", 0, null, 20).totalElements()).isZero();
+
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        riderService.insertRider(new RiderInsertDto("João Silva", "joao.silva@test.com", "joao.silva",
+                "12345mudar!", "Curitiba", stateToFind));
+
+        when(riderRepository.findById(existingRider.getId())).thenReturn(Optional.of(existingRider));
+        riderService.updateRider(new RiderInsertDto(existingRider.getFullName(), existingRider.getEmail(),
+                existingRider.getBikerNickname(), null, "Joinville", "Santa Catarina"), existingRider.getId(), null);
+
+        assertThat(riderService.findByState(stateToFind, "city", 0, null, 20).totalElements()).isEqualTo(1L);
+        assertThat(riderService.findByState("Santa Catarina", "city", 0, null, 20).totalElements()).isEqualTo(1L);
+
+        riderService.delete(existingRider.getId());
+
+        assertThat(riderService.findByState("Santa Catarina", "city", 0, null, 20).totalElements()).isZero();
+        verify(riderRepository, times(1)).countByState(stateToFind);
+        verify(riderRepository, times(1)).countByState("Santa Catarina");
     }
 
     @Test
     @DisplayName("Should return updated Rider when call updateRider and everything is ok")
     void updateRider_ReturnUpdatedRider_WhenEverythingIsOK() {
         UUID idToUpdate = existingRider.getId();
+        String previousEmail = existingRider.getEmail();
         RiderInsertDto riderUpdateDto = new RiderInsertDto(
                 "Marlon Britto Updated",
                 "marlonb.updated@test.com",
@@ -326,12 +533,9 @@ public class RiderServiceTest {
 
         when(riderRepository.findById(idToUpdate)).thenReturn(Optional.of(existingRider));
 
-        when(riderRepository.findByEmail(riderUpdateDto.email())).thenReturn(Optional.empty());
-        when(riderRepository.findByBikerNickname(riderUpdateDto.bikerNickname())).thenReturn(Optional.empty());
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        when(riderRepository.save(any(Rider.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        RiderSummaryDto resultRiderSummary = riderService.updateRider(riderUpdateDto, idToUpdate);
+        RiderSummaryDto resultRiderSummary = riderService.updateRider(riderUpdateDto, idToUpdate, null);
 
         assertThat(resultRiderSummary).isNotNull();
         assertThat(resultRiderSummary.id()).isEqualTo(idToUpdate);
@@ -341,9 +545,14 @@ public class RiderServiceTest {
         assertThat(resultRiderSummary.state()).isEqualTo(riderUpdateDto.state());
 
         verify(riderRepository, times(1)).findById(idToUpdate);
-        verify(riderRepository, times(1)).findByEmail(riderUpdateDto.email());
-        verify(riderRepository, times(1)).findByBikerNickname(riderUpdateDto.bikerNickname());
-        verify(riderRepository, times(1)).save(any(Rider.class));
+        verify(riderRepository, times(1)).saveAndFlush(any(Rider.class));
+        verifyNoMoreInteractions(riderRepository);
+
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class))
+                .containsExactly(new RiderCredentialsChangedEvent(Set.of(previousEmail, riderUpdateDto.email())));
+        assertThat(applicationEvents.stream(RiderChangedEvent.class))
+                .containsExactly(new RiderChangedEvent(idToUpdate, Set.of(previousEmail, riderUpdateDto.email()),
+                        Set.of("marlon.britto", riderUpdateDto.bikerNickname())));
     }
 
     @Test
@@ -361,11 +570,47 @@ public class RiderServiceTest {
 
         when(riderRepository.findById(idToUpdate)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate))
+        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Rider com ID " + idToUpdate + " não encontrado.");
     }
 
+    @Test
+    @DisplayName("Should throw PreconditionFailedException without saving when call updateRider with a stale version")
+    void updateRider_ThrowPreconditionFailedException_WhenVersionIsStale() {
+        UUID idToUpdate = existingRider.getId();
+        existingRider.setVersion(5L);
+        RiderInsertDto riderUpdateDto = new RiderInsertDto("Marlon Britto", "marlonb@test.com", "marlon.britto",
+                null, "Curitiba", "Paraná");
+
+        when(riderRepository.findById(idToUpdate)).thenReturn(Optional.of(existingRider));
+
+        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate, 4L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("foi alterado desde a versão informada em If-Match");
+
+        verify(riderRepository, never()).saveAndFlush(any(Rider.class));
+        assertThat(applicationEvents.stream(RiderChangedEvent.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should throw PreconditionFailedException when a conditional updateRider loses the race at flush")
+    void updateRider_ThrowPreconditionFailedException_WhenConcurrentUpdateWinsAtFlush() {
+        UUID idToUpdate = existingRider.getId();
+        existingRider.setVersion(5L);
+        RiderInsertDto riderUpdateDto = new RiderInsertDto("Marlon Britto", "marlonb@test.com", "marlon.britto",
+                null, "Curitiba", "Paraná");
+
+        when(riderRepository.findById(idToUpdate)).thenReturn(Optional.of(existingRider));
+        when(riderRepository.saveAndFlush(any(Rider.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Rider.class, idToUpdate));
+
+        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate, 5L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate, null))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
     @Test
     @DisplayName("Should throw BusinessException when call updateRider with email that belongs to another rider")
     void updateRider_ThrowBusinessException_WhenEmailBelongsToAnotherRider() {
@@ -378,15 +623,10 @@ public class RiderServiceTest {
                 "City",
                 "State");
 
-        Rider anotherRiderWithEmail = Rider.builder()
-                .id(UUID.randomUUID())
-                .email(riderUpdateDto.email())
-                .build();
-
         when(riderRepository.findById(idToUpdate)).thenReturn(Optional.of(existingRider));
-        when(riderRepository.findByEmail(riderUpdateDto.email())).thenReturn(Optional.of(anotherRiderWithEmail));
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenThrow(uniqueViolation(Rider.EMAIL_CONSTRAINT));
 
-        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate))
+        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate, null))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Já existe um usuario diferente cadastrado com o e-mail: " + riderUpdateDto.email());
     }
@@ -403,20 +643,70 @@ public class RiderServiceTest {
                 "City",
                 "State");
 
-        Rider anotherRiderWithNickname = Rider.builder()
-                .id(UUID.randomUUID())
-                .bikerNickname(riderUpdateDto.bikerNickname())
-                .build();
-
         when(riderRepository.findById(idToUpdate)).thenReturn(Optional.of(existingRider));
-        when(riderRepository.findByEmail(riderUpdateDto.email())).thenReturn(Optional.empty());
-        when(riderRepository.findByBikerNickname(riderUpdateDto.bikerNickname())).thenReturn(Optional.of(anotherRiderWithNickname));
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenThrow(uniqueViolation(Rider.BIKER_NICKNAME_CONSTRAINT));
 
-        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate))
+        assertThatThrownBy(() -> riderService.updateRider(riderUpdateDto, idToUpdate, null))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Já existe um usuario diferente cadastrado com o nickname: " + riderUpdateDto.bikerNickname());
     }
 
+    @Test
+    @DisplayName("Should change only the supplied fields and keep the password hash when call patchRider without a password")
+    void patchRider_ChangeOnlySuppliedFields_WhenPasswordIsAbsent() {
+        UUID idToPatch = existingRider.getId();
+        String previousPasswordHash = existingRider.getPassword();
+        RiderPatchDto riderPatchDto = new RiderPatchDto(null, null, null, null, "Curitiba", null);
+
+        when(riderRepository.findById(idToPatch)).thenReturn(Optional.of(existingRider));
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RiderSummaryDto resultRiderSummary = riderService.patchRider(riderPatchDto, idToPatch, null);
+
+        assertThat(resultRiderSummary.city()).isEqualTo("Curitiba");
+        assertThat(resultRiderSummary.email()).isEqualTo("marlonb@test.com");
+        assertThat(resultRiderSummary.bikerNickname()).isEqualTo("marlon.britto");
+        assertThat(existingRider.getFullName()).isEqualTo("Marlon Britto");
+        assertThat(existingRider.getPassword()).isSameAs(previousPasswordHash);
+
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class)).isEmpty();
+        assertThat(applicationEvents.stream(RiderStateChangedEvent.class)).isEmpty();
+        assertThat(applicationEvents.stream(RiderChangedEvent.class)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should hash the new password and evict credentials when call patchRider with a password")
+    void patchRider_HashPasswordAndPublishCredentialsEvent_WhenPasswordIsSupplied() {
+        UUID idToPatch = existingRider.getId();
+        RiderPatchDto riderPatchDto = new RiderPatchDto(null, "MarlonB.New@Test.com", null, "novaSenha123", null, "Santa Catarina");
+
+        when(riderRepository.findById(idToPatch)).thenReturn(Optional.of(existingRider));
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RiderSummaryDto resultRiderSummary = riderService.patchRider(riderPatchDto, idToPatch, null);
+
+        assertThat(resultRiderSummary.email()).isEqualTo("marlonb.new@test.com");
+        assertThat(passwordEncoder.matches("novaSenha123", existingRider.getPassword())).isTrue();
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class))
+                .containsExactly(new RiderCredentialsChangedEvent(Set.of("marlonb@test.com", "marlonb.new@test.com")));
+        assertThat(applicationEvents.stream(RiderStateChangedEvent.class))
+                .containsExactly(new RiderStateChangedEvent("Paraná", "Santa Catarina"));
+    }
+
+    @Test
+    @DisplayName("Should throw BusinessException when call patchRider with a nickname that belongs to another rider")
+    void patchRider_ThrowBusinessException_WhenNicknameBelongsToAnotherRider() {
+        UUID idToPatch = existingRider.getId();
+        RiderPatchDto riderPatchDto = new RiderPatchDto(null, null, "another.user.nick", null, null, null);
+
+        when(riderRepository.findById(idToPatch)).thenReturn(Optional.of(existingRider));
+        when(riderRepository.saveAndFlush(any(Rider.class))).thenThrow(uniqueViolation(Rider.BIKER_NICKNAME_CONSTRAINT));
+
+        assertThatThrownBy(() -> riderService.patchRider(riderPatchDto, idToPatch, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Já existe um usuario diferente cadastrado com o nickname: another.user.nick");
+    }
+
     @Test
     @DisplayName("Should complete successfully when call delete with an existing id")
     void delete_ShouldCompleteSuccessfully_WhenIdExists() {
@@ -428,6 +718,12 @@ public class RiderServiceTest {
 
         verify(riderRepository, times(1)).findById(idToDelete);
         verify(riderRepository, times(1)).delete(existingRider);
+
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class))
+                .containsExactly(new RiderCredentialsChangedEvent(Set.of(existingRider.getEmail())));
+        assertThat(applicationEvents.stream(RiderChangedEvent.class))
+                .containsExactly(new RiderChangedEvent(idToDelete, Set.of(existingRider.getEmail()),
+                        Set.of(existingRider.getBikerNickname())));
     }
 
     @Test
@@ -450,7 +746,8 @@ public class RiderServiceTest {
         String existingEmail = existingRider.getEmail();
 
 
-        when(riderRepository.findByEmail(existingEmail)).thenReturn(Optional.of(existingRider));
+        when(riderRepository.findAuthDataByEmail(existingEmail)).thenReturn(Optional.of(
+                new RiderAuthDto(existingRider.getId(), existingRider.getEmail(), existingRider.getPassword())));
 
 
         RiderAuthDto result = riderService.findAuthDataByEmail(existingEmail);
@@ -460,20 +757,98 @@ public class RiderServiceTest {
         assertThat(result.email()).isEqualTo(existingRider.getEmail());
         assertThat(result.password()).isEqualTo(existingRider.getPassword());
 
-        verify(riderRepository, times(1)).findByEmail(existingEmail);
+        verify(riderRepository, times(1)).findAuthDataByEmail(existingEmail);
+
+    }
+
+    @Test
+    @DisplayName("Should look up auth data by the lower-cased e-mail")
+    void findAuthDataByEmail_withMixedCaseEmail_shouldLookUpLowerCasedEmail() {
+        when(riderRepository.findAuthDataByEmail("marlonb@test.com")).thenReturn(Optional.of(
+                new RiderAuthDto(existingRider.getId(), existingRider.getEmail(), existingRider.getPassword())));
+
+        RiderAuthDto result = riderService.findAuthDataByEmail("MarlonB@Test.com");
 
+        assertThat(result.id()).isEqualTo(existingRider.getId());
+        verify(riderRepository, times(1)).findAuthDataByEmail("marlonb@test.com");
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when findAuthDataByEmail is called with a non-existing email")
     void findAuthDataByEmail_withNonExistingEmail_shouldThrowResourceNotFoundException() {
         String nonExistingEmail = "ghost@test.com";
-        when(riderRepository.findByEmail(nonExistingEmail)).thenReturn(Optional.empty());
+        when(riderRepository.findAuthDataByEmail(nonExistingEmail)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> riderService.findAuthDataByEmail(nonExistingEmail))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Rider não encontrado com e-mail: '" + nonExistingEmail + "'");
     }
 
+    @Test
+    @DisplayName("Should store the upgraded hash and publish a rehash, not a credentials change, when the stored hash is unchanged")
+    void rehashPassword_ReturnTrue_WhenStoredHashIsUnchanged() {
+        String newPasswordHash = passwordEncoder.encode("12345mudar!");
+        RiderPasswordRehashDto rehashDto = new RiderPasswordRehashDto(
+                existingRider.getEmail(), existingRider.getPassword(), newPasswordHash);
+
+        when(riderRepository.updatePasswordHash(existingRider.getEmail(), existingRider.getPassword(), newPasswordHash))
+                .thenReturn(1);
+
+        assertThat(riderService.rehashPassword(rehashDto)).isTrue();
+        assertThat(applicationEvents.stream(RiderPasswordRehashedEvent.class))
+                .containsExactly(new RiderPasswordRehashedEvent(existingRider.getEmail()));
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not publish anything when the stored hash changed before the upgraded hash arrived")
+    void rehashPassword_ReturnFalse_WhenStoredHashChanged() {
+        String newPasswordHash = passwordEncoder.encode("12345mudar!");
+        RiderPasswordRehashDto rehashDto = new RiderPasswordRehashDto(
+                existingRider.getEmail(), "stale-hash", newPasswordHash);
+
+        when(riderRepository.updatePasswordHash(existingRider.getEmail(), "stale-hash", newPasswordHash))
+                .thenReturn(0);
+
+        assertThat(riderService.rehashPassword(rehashDto)).isFalse();
+        assertThat(applicationEvents.stream(RiderPasswordRehashedEvent.class)).isEmpty();
+        assertThat(applicationEvents.stream(RiderCredentialsChangedEvent.class)).isEmpty();
+    }
 
+    @Test
+    @DisplayName("Should throw BusinessException when the upgraded hash is not in the current format")
+    void rehashPassword_ThrowBusinessException_WhenNewHashIsNotCurrentFormat() {
+        RiderPasswordRehashDto rehashDto = new RiderPasswordRehashDto(
+                existingRider.getEmail(), existingRider.getPassword(), "plain-text-password");
+
+        assertThatThrownBy(() -> riderService.rehashPassword(rehashDto))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("O hash de senha informado não está no formato atual");
+
+        verify(riderRepository, never()).updatePasswordHash(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should throw BusinessException when the upgraded hash is only an id prefix")
+    void rehashPassword_ThrowBusinessException_WhenNewHashIsMalformed() {
+        RiderPasswordRehashDto rehashDto = new RiderPasswordRehashDto(
+                existingRider.getEmail(), existingRider.getPassword(), "{bcrypt}");
+
+        assertThatThrownBy(() -> riderService.rehashPassword(rehashDto))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("O hash de senha informado não está no formato atual");
+
+        verify(riderRepository, never()).updatePasswordHash(anyString(), anyString(), anyString());
+    }
+
+    private static RiderSummaryRow row(Rider rider) {
+        return new RiderSummaryRow(rider.getId(), rider.getBikerNickname(), rider.getEmail(),
+                rider.getCity(), rider.getState(), rider.getRegisterDate(), rider.getVersion());
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation",
+                        new SQLException("Unique index or primary key violation", "23505"), constraintName));
+    }
 }
@@ -0,0 +1,93 @@
+package br.com.rastrodeliberdade.rider_service.tracing;
+
+import br.com.rastrodeliberdade.rider_service.dto.RiderSummaryDto;
+import br.com.rastrodeliberdade.rider_service.repository.RiderRepository;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TracingInterceptorTest {
+
+    private Span span;
+    private MethodInvocation invocation;
+    private TracingInterceptor tracingInterceptor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        span = mock(Span.class);
+        when(span.name(anyString())).thenReturn(span);
+        when(span.tag(anyString(), anyString())).thenReturn(span);
+        when(span.start()).thenReturn(span);
+
+        Tracer tracer = mock(Tracer.class);
+        when(tracer.nextSpan()).thenReturn(span);
+        when(tracer.withSpan(span)).thenReturn(mock(Tracer.SpanInScope.class));
+
+        ObjectProvider<Tracer> tracerProvider = mock(ObjectProvider.class);
+        when(tracerProvider.getIfAvailable(any())).thenReturn(tracer);
+
+        invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(RiderRepository.class.getMethod("streamAll"));
+        tracingInterceptor = new TracingInterceptor(tracerProvider, "repository", "RiderRepository");
+    }
+
+    @Test
+    @DisplayName("Should keep the span of a returned stream open until the caller closes the stream")
+    void invoke_whenMethodReturnsStream_shouldEndSpanOnClose() throws Throwable {
+        RiderSummaryDto rider = new RiderSummaryDto(UUID.randomUUID(), "joao.silva", "joao.silva@test.com",
+                "Curitiba", "Paraná", 0L);
+        when(invocation.proceed()).thenReturn(Stream.of(rider));
+
+        @SuppressWarnings("unchecked")
+        Stream<RiderSummaryDto> riders = (Stream<RiderSummaryDto>) tracingInterceptor.invoke(invocation);
+
+        verify(span, never()).end();
+        try (riders) {
+            assertThat(riders.toList()).containsExactly(rider);
+            verify(span, never()).end();
+        }
+        verify(span, times(1)).end();
+    }
+
+    @Test
+    @DisplayName("Should end the span when the call returns anything other than a stream")
+    void invoke_whenMethodReturnsCollection_shouldEndSpanOnReturn() throws Throwable {
+        when(invocation.proceed()).thenReturn(List.of());
+
+        tracingInterceptor.invoke(invocation);
+
+        verify(span).tag("rows", 0L);
+        verify(span, times(1)).end();
+    }
+
+    @Test
+    @DisplayName("Should flag and end the span when the call throws before returning a stream")
+    void invoke_whenMethodThrows_shouldEndSpanWithError() throws Throwable {
+        IllegalStateException failure = new IllegalStateException("connection refused");
+        when(invocation.proceed()).thenThrow(failure);
+
+        assertThatThrownBy(() -> tracingInterceptor.invoke(invocation)).isSameAs(failure);
+
+        verify(span).error(failure);
+        verify(span, times(1)).end();
+    }
+}
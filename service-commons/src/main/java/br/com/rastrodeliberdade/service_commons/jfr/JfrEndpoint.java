@@ -0,0 +1,156 @@
+package br.com.rastrodeliberdade.service_commons.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts, stops and dumps a Flight Recorder recording of this node, without attaching jcmd or JMC.
+ * <ul>
+ *     <li>{@code POST /actuator/jfr}: starts a recording, optionally with {@code {"settings": "default"}}
+ *     (default {@code jfr.recording.settings}). A running recording is closed first.</li>
+ *     <li>{@code DELETE /actuator/jfr}: stops the recording; it can still be dumped until the next start.</li>
+ *     <li>{@code GET /actuator/jfr/dump}: the recording so far as a .jfr file, running or stopped. Each dump is
+ *     written to a temporary file of its own, deleted once the response has been streamed.</li>
+ *     <li>{@code GET /actuator/jfr}: the state of the recording.</li>
+ * </ul>
+ * The endpoint is not exposed by default: add {@code jfr} to {@code management.endpoints.web.exposure.include}
+ * on nodes where the actuator is only reachable from inside the network.
+ */
+@Endpoint(id = "jfr")
+public class JfrEndpoint implements DisposableBean {
+
+    private static final String DUMP = "dump";
+
+    private final String defaultSettings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private String recordingSettings;
+
+    public JfrEndpoint(String defaultSettings, Duration maxAge, DataSize maxSize) {
+        this.defaultSettings = defaultSettings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("settings", recordingSettings);
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String settings) {
+        String settingsName = settings != null ? settings : defaultSettings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown JFR settings: " + settingsName),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        closeRecording();
+        recording = new Recording(configuration);
+        recording.setName("actuator");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        recordingSettings = settingsName;
+        return new WebEndpointResponse<>(status());
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return status();
+    }
+
+    // Only the dump itself runs under the lock; the file is streamed afterwards and removed when the response
+    // closes its stream, so a later dump or start never deletes a file that is still being sent.
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name) {
+        if (!DUMP.equals(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = null;
+        try {
+            file = Files.createTempFile("recording-", ".jfr");
+            if (!dumpTo(file)) {
+                Files.delete(file);
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            return new WebEndpointResponse<>(new InputStreamResource(
+                    Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+        } catch (IOException e) {
+            deleteQuietly(file, e);
+            throw new UncheckedIOException("Could not dump the JFR recording", e);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        closeRecording();
+    }
+
+    private synchronized boolean dumpTo(Path file) throws IOException {
+        if (recording == null) {
+            return false;
+        }
+        recording.dump(file);
+        return true;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static void deleteQuietly(@Nullable Path file, IOException failure) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.rastrodeliberdade.service_commons.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@AutoConfiguration
+public class JfrEndpointAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint
+    public JfrEndpoint jfrEndpoint(@Value("${jfr.recording.settings:profile}") String defaultSettings,
+                                   @Value("${jfr.recording.max-age:30m}") Duration maxAge,
+                                   @Value("${jfr.recording.max-size:250MB}") DataSize maxSize) {
+        return new JfrEndpoint(defaultSettings, maxAge, maxSize);
+    }
+}
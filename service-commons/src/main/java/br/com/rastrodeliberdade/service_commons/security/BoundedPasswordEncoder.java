@@ -0,0 +1,241 @@
+package br.com.rastrodeliberdade.service_commons.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    public static final Duration DEFAULT_BULK_SUBMIT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration BULK_SUBMIT_RETRY_INTERVAL = Duration.ofMillis(10);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Tracer tracer;
+    private final Duration bulkSubmitTimeout;
+
+    private volatile Timer encodeTimer;
+    private volatile Timer matchesTimer;
+    private volatile Timer queueWaitTimer;
+    private volatile Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+        this(delegate, threads, queueCapacity, Tracer.NOOP);
+    }
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Tracer tracer) {
+        this(delegate, threads, queueCapacity, tracer, DEFAULT_BULK_SUBMIT_TIMEOUT);
+    }
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Tracer tracer,
+                                  Duration bulkSubmitTimeout) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+        this.bulkSubmitTimeout = bulkSubmitTimeout;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute("password.encode", () -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute("password.verify", () -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Keeps at most one task per hashing thread in the queue, so sign-ups and logins interleave with a bulk
+    // encode instead of waiting behind all of it. When the queue is full anyway, the bulk caller waits for
+    // room up to bulkSubmitTimeout and then fails the whole call; it never hashes outside the pool.
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        Span span = tracer.nextSpan().name("password.encode.bulk").tag("passwords", rawPasswords.size()).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return encodeAllInOrder(rawPasswords);
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private List<String> encodeAllInOrder(List<? extends CharSequence> rawPasswords) {
+        Semaphore inFlight = new Semaphore(executor.getMaximumPoolSize());
+        List<Future<String>> results = new ArrayList<>(rawPasswords.size());
+        for (CharSequence rawPassword : rawPasswords) {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                results.forEach(result -> result.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new PasswordHashingUnavailableException("Processamento de senha interrompido", e);
+            }
+            try {
+                results.add(submitWaiting(() -> {
+                    try {
+                        return delegate.encode(rawPassword);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            } catch (PasswordHashingUnavailableException e) {
+                inFlight.release();
+                results.forEach(result -> result.cancel(true));
+                throw e;
+            }
+        }
+
+        List<String> encodedPasswords = new ArrayList<>(results.size());
+        for (Future<String> result : results) {
+            encodedPasswords.add(await(result));
+        }
+        return encodedPasswords;
+    }
+
+    // The span covers the queue wait too; its "hashing.started" event marks when a hashing thread picked it up.
+    private <T> T execute(String spanName, Callable<T> hashing, Timer hashingTimer) {
+        Span span = tracer.nextSpan().name(spanName).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return execute(hashing, hashingTimer, span);
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private <T> T execute(Callable<T> hashing, Timer hashingTimer, Span span) {
+        Future<T> result;
+        try {
+            result = submit(hashing, hashingTimer, span);
+        } catch (RejectedExecutionException e) {
+            if (rejectedCounter != null) {
+                rejectedCounter.increment();
+            }
+            throw new PasswordHashingUnavailableException(
+                    "Serviço de senhas sobrecarregado, tente novamente em instantes", e);
+        }
+        return await(result);
+    }
+
+    private Future<String> submitWaiting(Callable<String> hashing) {
+        long deadline = System.nanoTime() + bulkSubmitTimeout.toNanos();
+        while (true) {
+            try {
+                return submit(hashing, encodeTimer, Span.NOOP);
+            } catch (RejectedExecutionException e) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || executor.isShutdown()) {
+                    if (rejectedCounter != null) {
+                        rejectedCounter.increment();
+                    }
+                    throw new PasswordHashingUnavailableException(
+                            "Serviço de senhas sobrecarregado, tente novamente em instantes", e);
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(Math.min(remaining, BULK_SUBMIT_RETRY_INTERVAL.toNanos()));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new PasswordHashingUnavailableException("Processamento de senha interrompido", interrupted);
+                }
+            }
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> hashing, Timer hashingTimer, Span span) {
+        long submittedAt = System.nanoTime();
+        return executor.submit(() -> {
+            long startedAt = System.nanoTime();
+            record(queueWaitTimer, startedAt - submittedAt);
+            span.event("hashing.started");
+            try {
+                return hashing.call();
+            } finally {
+                record(hashingTimer, System.nanoTime() - startedAt);
+            }
+        });
+    }
+
+    private static <T> T await(Future<T> result) {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Processamento de senha interrompido", e);
+        }
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        encodeTimer = Timer.builder("password.hashing.duration")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "encode")
+                .register(registry);
+        matchesTimer = Timer.builder("password.hashing.duration")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "matches")
+                .register(registry);
+        queueWaitTimer = Timer.builder("password.hashing.queue.wait")
+                .description("Time a password hashing task waited for a free hashing thread")
+                .register(registry);
+        rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(registry);
+        Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a free hashing thread")
+                .register(registry);
+        Gauge.builder("password.hashing.queue.capacity", executor,
+                        e -> e.getQueue().size() + e.getQueue().remainingCapacity())
+                .register(registry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently hashing or verifying a password")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
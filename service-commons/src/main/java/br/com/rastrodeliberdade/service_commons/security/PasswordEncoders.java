@@ -0,0 +1,51 @@
+package br.com.rastrodeliberdade.service_commons.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public final class PasswordEncoders {
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile(
+            "\\{bcrypt}\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final Pattern ARGON2_HASH = Pattern.compile(
+            "\\{argon2}\\$argon2(d|i|id)\\$v=19\\$m=\\d+,t=\\d+,p=\\d+\\$[A-Za-z0-9+/]+\\$[A-Za-z0-9+/]+");
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder delegating(String algorithm, int bcryptStrength,
+                                             int argon2Memory, int argon2Iterations, int argon2Parallelism) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(
+                ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, argon2Parallelism, argon2Memory, argon2Iterations));
+
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegatingEncoder;
+    }
+
+    // Whether the value is a complete hash, {id} prefix included, that one of the encoders above could have
+    // produced. upgradeEncoding alone accepts things like a bare "{bcrypt}", which would lock the rider out.
+    public static boolean isWellFormed(String encodedPassword) {
+        return encodedPassword != null
+                && (BCRYPT_HASH.matcher(encodedPassword).matches() || ARGON2_HASH.matcher(encodedPassword).matches());
+    }
+}
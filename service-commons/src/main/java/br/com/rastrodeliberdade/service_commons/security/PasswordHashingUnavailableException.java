@@ -0,0 +1,7 @@
+package br.com.rastrodeliberdade.service_commons.security;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.rastrodeliberdade.service_commons.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Path;
+
+// Spring Boot hands every SpanExporter bean to the tracer: this one writes spans to a local file, OTLP is
+// enabled by setting management.otlp.tracing.endpoint.
+@AutoConfiguration
+public class FileSpanExporterAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnExpression("!'${tracing.export.file.path:}'.isEmpty()")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.export.file.path}") String file) {
+        return new FileSpanExporter(Path.of(file));
+    }
+}
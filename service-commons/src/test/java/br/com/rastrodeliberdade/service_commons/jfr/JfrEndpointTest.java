@@ -0,0 +1,78 @@
+package br.com.rastrodeliberdade.service_commons.jfr;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEndpointTest {
+
+    private final JfrEndpoint jfrEndpoint = new JfrEndpoint("default", Duration.ofMinutes(1), DataSize.ofMegabytes(10));
+
+    @AfterEach
+    void tearDown() {
+        jfrEndpoint.destroy();
+    }
+
+    @Test
+    @DisplayName("Should stream every dump from its own file and delete it once the stream is closed")
+    void dump_shouldStreamFromOwnFileAndDeleteItAfterwards() throws Exception {
+        Set<Path> dumpsBefore = dumpFiles();
+        jfrEndpoint.start(null);
+
+        Resource first = jfrEndpoint.dump("dump").getBody();
+        Resource second = jfrEndpoint.dump("dump").getBody();
+        jfrEndpoint.start(null);
+
+        Path firstCopy = copy(first);
+        Path secondCopy = copy(second);
+        try {
+            assertThat(RecordingFile.readAllEvents(firstCopy)).isNotEmpty();
+            assertThat(RecordingFile.readAllEvents(secondCopy)).isNotEmpty();
+        } finally {
+            Files.deleteIfExists(firstCopy);
+            Files.deleteIfExists(secondCopy);
+        }
+        assertThat(dumpFiles()).isEqualTo(dumpsBefore);
+    }
+
+    @Test
+    @DisplayName("Should return 404 when there is no recording to dump")
+    void dump_withoutRecording_shouldReturnNotFound() throws Exception {
+        Set<Path> dumpsBefore = dumpFiles();
+
+        assertThat(jfrEndpoint.dump("dump").getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(dumpFiles()).isEqualTo(dumpsBefore);
+    }
+
+    private static Path copy(Resource dump) throws IOException {
+        Path copy = Files.createTempFile("jfr-endpoint-test", ".jfr");
+        try (InputStream in = dump.getInputStream()) {
+            Files.write(copy, in.readAllBytes());
+        }
+        return copy;
+    }
+
+    private static Set<Path> dumpFiles() throws IOException {
+        Set<Path> files = new HashSet<>();
+        try (DirectoryStream<Path> dumps = Files.newDirectoryStream(
+                Path.of(System.getProperty("java.io.tmpdir")), "recording-*.jfr")) {
+            dumps.forEach(files::add);
+        }
+        return files;
+    }
+}
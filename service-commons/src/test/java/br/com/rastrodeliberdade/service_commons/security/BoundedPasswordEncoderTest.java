@@ -0,0 +1,181 @@
+package br.com.rastrodeliberdade.service_commons.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        boundedPasswordEncoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify through the delegate and record hashing latency")
+    void encodeAndMatches_shouldDelegateAndRecordMetrics() {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10);
+        boundedPasswordEncoder.bindTo(meterRegistry);
+
+        String hash = boundedPasswordEncoder.encode("12345mudar!");
+
+        assertThat(boundedPasswordEncoder.matches("12345mudar!", hash)).isTrue();
+        assertThat(boundedPasswordEncoder.matches("wrong-password", hash)).isFalse();
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("password.hashing.queue.size").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject immediately with PasswordHashingUnavailableException when the queue is full")
+    void encode_whenQueueIsFull_shouldRejectFast() throws Exception {
+        CountDownLatch hashingStarted = new CountDownLatch(1);
+        CountDownLatch releaseHashing = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingStarted.countDown();
+                try {
+                    releaseHashing.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        boundedPasswordEncoder = new BoundedPasswordEncoder(slowEncoder, 1, 1);
+        boundedPasswordEncoder.bindTo(meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("first"));
+        hashingStarted.await();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("second"));
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> boundedPasswordEncoder.encode("third"))
+                .isInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        releaseHashing.countDown();
+        assertThat(running.get()).isNotBlank();
+        assertThat(queued.get()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should hash every password of a bulk encode in order without rejecting any")
+    void encodeAll_shouldHashInOrderWithoutRejecting() {
+        boundedPasswordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 3, 1);
+        boundedPasswordEncoder.bindTo(meterRegistry);
+        List<String> rawPasswords = IntStream.range(0, 10).mapToObj(i -> "12345mudar!" + i).toList();
+
+        List<String> hashes = boundedPasswordEncoder.encodeAll(rawPasswords);
+
+        assertThat(hashes).hasSize(rawPasswords.size());
+        for (int i = 0; i < rawPasswords.size(); i++) {
+            assertThat(boundedPasswordEncoder.matches(rawPasswords.get(i), hashes.get(i))).isTrue();
+        }
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count()).isEqualTo(10);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should wait for room on the hashing threads when a bulk encode finds the queue full")
+    void encodeAll_whenQueueIsFull_shouldWaitForHashingThreads() throws Exception {
+        CountDownLatch hashingStarted = new CountDownLatch(1);
+        CountDownLatch releaseHashing = new CountDownLatch(1);
+        Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+        PasswordEncoder slowEncoder = slowInteractiveEncoder(hashingStarted, releaseHashing, hashingThreads);
+        boundedPasswordEncoder = new BoundedPasswordEncoder(slowEncoder, 1, 1);
+        boundedPasswordEncoder.bindTo(meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("interactive-1"));
+        hashingStarted.await();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("interactive-2"));
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        CompletableFuture<List<String>> bulk = CompletableFuture.supplyAsync(
+                () -> boundedPasswordEncoder.encodeAll(List.of("bulk-1", "bulk-2")));
+        Thread.sleep(100);
+        assertThat(bulk).isNotDone();
+
+        releaseHashing.countDown();
+        List<String> hashes = bulk.get(5, TimeUnit.SECONDS);
+
+        assertThat(new BCryptPasswordEncoder(4).matches("bulk-1", hashes.get(0))).isTrue();
+        assertThat(new BCryptPasswordEncoder(4).matches("bulk-2", hashes.get(1))).isTrue();
+        assertThat(running.get()).isNotBlank();
+        assertThat(queued.get()).isNotBlank();
+        assertThat(hashingThreads).allMatch(name -> name.startsWith("password-hashing-"));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fail the bulk encode when the queue stays full past the submit timeout")
+    void encodeAll_whenQueueStaysFull_shouldFailAfterTimeout() throws Exception {
+        CountDownLatch hashingStarted = new CountDownLatch(1);
+        CountDownLatch releaseHashing = new CountDownLatch(1);
+        Set<String> hashingThreads = ConcurrentHashMap.newKeySet();
+        PasswordEncoder slowEncoder = slowInteractiveEncoder(hashingStarted, releaseHashing, hashingThreads);
+        boundedPasswordEncoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, Tracer.NOOP, Duration.ofMillis(200));
+        boundedPasswordEncoder.bindTo(meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("interactive-1"));
+        hashingStarted.await();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> boundedPasswordEncoder.encode("interactive-2"));
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        try {
+            assertThatThrownBy(() -> boundedPasswordEncoder.encodeAll(List.of("bulk-1", "bulk-2")))
+                    .isInstanceOf(PasswordHashingUnavailableException.class);
+            assertThat(hashingThreads).allMatch(name -> name.startsWith("password-hashing-"));
+            assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            releaseHashing.countDown();
+        }
+        assertThat(running.get()).isNotBlank();
+        assertThat(queued.get()).isNotBlank();
+    }
+
+    private static PasswordEncoder slowInteractiveEncoder(CountDownLatch hashingStarted, CountDownLatch releaseHashing,
+                                                          Set<String> hashingThreads) {
+        return new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThreads.add(Thread.currentThread().getName());
+                if (rawPassword.toString().startsWith("interactive")) {
+                    hashingStarted.countDown();
+                    try {
+                        releaseHashing.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.encode(rawPassword);
+            }
+        };
+    }
+}
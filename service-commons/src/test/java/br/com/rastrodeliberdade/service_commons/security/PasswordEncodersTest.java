@@ -0,0 +1,75 @@
+package br.com.rastrodeliberdade.service_commons.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordEncodersTest {
+
+    private static final String RAW_PASSWORD = "12345mudar!";
+
+    @Test
+    @DisplayName("Should verify legacy BCrypt hashes without an id prefix and flag them for upgrade")
+    void delegating_withLegacyBcryptHash_shouldMatchAndRequestUpgrade() {
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 4, 1024, 1, 1);
+        String legacyHash = new BCryptPasswordEncoder(4).encode(RAW_PASSWORD);
+
+        assertThat(passwordEncoder.matches(RAW_PASSWORD, legacyHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should flag BCrypt hashes with a lower cost than configured for upgrade")
+    void delegating_withLowerBcryptCost_shouldRequestUpgrade() {
+        String weakHash = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 4, 1024, 1, 1).encode(RAW_PASSWORD);
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 5, 1024, 1, 1);
+
+        assertThat(weakHash).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordEncoder.matches(RAW_PASSWORD, weakHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(weakHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode(RAW_PASSWORD))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hash with Argon2 when configured and still verify existing BCrypt hashes")
+    void delegating_withArgon2_shouldEncodeArgon2AndMigrateBcrypt() {
+        String bcryptHash = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 4, 1024, 1, 1).encode(RAW_PASSWORD);
+        PasswordEncoder passwordEncoder = PasswordEncoders.delegating(PasswordEncoders.ARGON2, 4, 1024, 1, 1);
+
+        String argon2Hash = passwordEncoder.encode(RAW_PASSWORD);
+
+        assertThat(argon2Hash).startsWith("{argon2}$argon2id$");
+        assertThat(passwordEncoder.matches(RAW_PASSWORD, argon2Hash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(argon2Hash)).isFalse();
+        assertThat(passwordEncoder.matches(RAW_PASSWORD, bcryptHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(bcryptHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should accept only complete hashes with a known id prefix as well formed")
+    void isWellFormed_shouldAcceptOnlyCompleteKnownHashes() {
+        String bcryptHash = PasswordEncoders.delegating(PasswordEncoders.BCRYPT, 4, 1024, 1, 1).encode(RAW_PASSWORD);
+        String argon2Hash = PasswordEncoders.delegating(PasswordEncoders.ARGON2, 4, 1024, 1, 1).encode(RAW_PASSWORD);
+
+        assertThat(PasswordEncoders.isWellFormed(bcryptHash)).isTrue();
+        assertThat(PasswordEncoders.isWellFormed(argon2Hash)).isTrue();
+        assertThat(PasswordEncoders.isWellFormed(bcryptHash.substring("{bcrypt}".length()))).isFalse();
+        assertThat(PasswordEncoders.isWellFormed(bcryptHash.substring(0, bcryptHash.length() - 1))).isFalse();
+        assertThat(PasswordEncoders.isWellFormed("{bcrypt}")).isFalse();
+        assertThat(PasswordEncoders.isWellFormed("{noop}" + RAW_PASSWORD)).isFalse();
+        assertThat(PasswordEncoders.isWellFormed("{argon2}$argon2id$v=19$m=1024,t=1,p=1$$")).isFalse();
+        assertThat(PasswordEncoders.isWellFormed(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail fast on an unknown algorithm")
+    void delegating_withUnknownAlgorithm_shouldThrow() {
+        assertThatThrownBy(() -> PasswordEncoders.delegating("md5", 4, 1024, 1, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported password hashing algorithm: md5");
+    }
+}